@@ -0,0 +1,56 @@
+package de.rub.grafcet.eka2026.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import de.hsu.grafcet.Grafcet;
+import de.hsu.grafcet.GrafcetPackage;
+import de.hsu.grafcet.Transition;
+import de.rub.grafcet.eka2026.NativeLibraries;
+import de.rub.grafcet.eka2026.ProcessCSVFile;
+import de.rub.grafcet.eka2026.grafcetFunctions;
+
+// Paths and fixtures shared by the benchmarks. The project folder defaults to the working directory,
+// run with -Deka2026.projectDir=... from anywhere else.
+public class BenchmarkModels {
+	static final String PROJECT_DIR = System.getProperty("eka2026.projectDir", System.getProperty("user.dir"));
+
+	static String modelPath(String model) {
+		return new File(new File(PROJECT_DIR, "grafcetSpecifications"), model + ".grafcet").getPath();
+	}
+
+	static String tablePath(String table) {
+		return new File(new File(PROJECT_DIR, "csvTablesFolder"), table + ".csv").getPath();
+	}
+
+	static Grafcet loadModel(String model) {
+		GrafcetPackage.eINSTANCE.eClass();
+		Grafcet grafcet = grafcetFunctions.loadGrafcet(modelPath(model));
+		if (grafcet == null) {
+			throw new IllegalStateException("Could not load model: " + modelPath(model));
+		}
+		return grafcet;
+	}
+
+	static List<Map<String, String>> loadTable(String table) {
+		ProcessCSVFile csvFile = new ProcessCSVFile();
+		csvFile.readAndSaveCSVFile(tablePath(table));
+		return csvFile.getCSVFile();
+	}
+
+	static List<Transition> transitions(Grafcet grafcet) {
+		List<Transition> transitions = new ArrayList<>();
+		for (Grafcet partialGrafcet : grafcet.getPartialGrafcets()) {
+			transitions.addAll(partialGrafcet.getTransitions());
+		}
+		return transitions;
+	}
+
+	// same lookup as the analysis, with z3/bin of the project as configured folder
+	static void loadZ3() {
+		NativeLibraries.setZ3Folder(new File(new File(PROJECT_DIR, "z3"), "bin").getPath());
+		NativeLibraries.ensureZ3Loaded();
+	}
+}
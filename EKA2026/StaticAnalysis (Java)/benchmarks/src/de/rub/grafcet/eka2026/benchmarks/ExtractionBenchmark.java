@@ -0,0 +1,47 @@
+package de.rub.grafcet.eka2026.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.hsu.grafcet.Transition;
+import de.rub.grafcet.eka2026.TransitionExpressionExtractor;
+
+// transitionToString for every transition of the model
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtractionBenchmark {
+
+	@Param({"eka2026_schumacher", "eka2026_faultySchumacher"})
+	public String model;
+
+	private List<Transition> transitions;
+
+	@Setup
+	public void setUp() {
+		transitions = BenchmarkModels.transitions(BenchmarkModels.loadModel(model));
+	}
+
+	@Benchmark
+	public void transitionToString(Blackhole blackhole) {
+		for (Transition transition : transitions) {
+			blackhole.consume(TransitionExpressionExtractor.transitionToString(transition));
+		}
+	}
+}
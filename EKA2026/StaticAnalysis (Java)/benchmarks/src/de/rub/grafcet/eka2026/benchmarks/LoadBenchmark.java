@@ -0,0 +1,53 @@
+package de.rub.grafcet.eka2026.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.hsu.grafcet.Grafcet;
+import de.hsu.grafcet.GrafcetPackage;
+import de.rub.grafcet.eka2026.GrafcetModelCache;
+import de.rub.grafcet.eka2026.grafcetFunctions;
+
+// XMI parsing against a warm start from the binary model cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBenchmark {
+
+	@Param({"eka2026_schumacher", "eka2026_faultySchumacher"})
+	public String model;
+
+	private String modelPath;
+
+	@Setup
+	public void setUp() {
+		GrafcetPackage.eINSTANCE.eClass();
+		modelPath = BenchmarkModels.modelPath(model);
+		// writes the cached copy, every measured call is a warm start
+		GrafcetModelCache.load(modelPath);
+	}
+
+	@Benchmark
+	public Grafcet loadGrafcet() {
+		return grafcetFunctions.loadGrafcet(modelPath);
+	}
+
+	@Benchmark
+	public Grafcet loadCachedGrafcet() {
+		return GrafcetModelCache.load(modelPath);
+	}
+}
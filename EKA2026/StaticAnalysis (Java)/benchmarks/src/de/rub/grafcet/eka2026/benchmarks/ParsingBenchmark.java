@@ -0,0 +1,78 @@
+package de.rub.grafcet.eka2026.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.microsoft.z3.Context;
+
+import de.hsu.grafcet.Transition;
+import de.rub.grafcet.eka2026.SMT_Solver;
+import de.rub.grafcet.eka2026.TransitionExpressionExtractor;
+
+// parseExpression + parseSMTStack for every transition condition of the model
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsingBenchmark {
+
+	@Param({"eka2026_schumacher", "eka2026_faultySchumacher"})
+	public String model;
+
+	private final List<String> conditions = new ArrayList<>();
+	private Context ctx;
+
+	@Setup
+	public void setUp() {
+		BenchmarkModels.loadZ3();
+		ctx = new Context();
+		for (Transition transition : BenchmarkModels.transitions(BenchmarkModels.loadModel(model))) {
+			String condition = TransitionExpressionExtractor.transitionToString(transition);
+			// the string parser rejects some conditions, only the ones it accepts are measured
+			try {
+				SMT_Solver.parseSMTStack(SMT_Solver.parseExpression(condition), ctx, new HashMap<>(), new HashMap<>());
+				conditions.add(condition);
+			} catch (RuntimeException e) {
+				// Z3Exception and the parser's own failures
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		ctx.close();
+	}
+
+	@Benchmark
+	public void parseExpression(Blackhole blackhole) {
+		for (String condition : conditions) {
+			blackhole.consume(SMT_Solver.parseExpression(condition));
+		}
+	}
+
+	@Benchmark
+	public void parseExpressionAndStack(Blackhole blackhole) {
+		for (String condition : conditions) {
+			String expression = SMT_Solver.parseExpression(condition);
+			blackhole.consume(SMT_Solver.parseSMTStack(expression, ctx, new HashMap<>(), new HashMap<>()));
+		}
+	}
+}
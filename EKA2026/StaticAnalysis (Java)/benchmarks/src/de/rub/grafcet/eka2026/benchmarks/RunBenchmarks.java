@@ -0,0 +1,22 @@
+package de.rub.grafcet.eka2026.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs all benchmarks (or the ones matching args[0]) with the GC profiler, so every result also reports
+// gc.alloc.rate and gc.alloc.rate.norm (bytes per operation).
+public class RunBenchmarks {
+
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : RunBenchmarks.class.getPackage().getName() + ".*Benchmark";
+		Options options = new OptionsBuilder()
+				.include(include)
+				.addProfiler(GCProfiler.class)
+				.jvmArgsAppend("-Deka2026.projectDir=" + BenchmarkModels.PROJECT_DIR)
+				.build();
+		new Runner(options).run();
+	}
+}
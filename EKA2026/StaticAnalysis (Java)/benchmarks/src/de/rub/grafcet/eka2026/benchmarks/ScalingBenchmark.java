@@ -0,0 +1,142 @@
+package de.rub.grafcet.eka2026.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.hsu.grafcet.Grafcet;
+import de.hsu.grafcet.GrafcetPackage;
+import de.rub.grafcet.eka2026.ExclusionTable;
+import de.rub.grafcet.eka2026.IntegerEncoding;
+import de.rub.grafcet.eka2026.PersistentResultStore;
+import de.rub.grafcet.eka2026.PropositionalFastPath;
+import de.rub.grafcet.eka2026.SMT_Solver;
+import de.rub.grafcet.eka2026.SyntheticGrafcetGenerator;
+import de.rub.grafcet.eka2026.TransitionIndex;
+import de.rub.grafcet.eka2026.grafcetFunctions;
+
+// Every phase against synthetic models from 10^2 to 10^6 transitions. Variables and exclusion rows grow with
+// the model, so the share of transitions with a matching row stays about the same.
+// The larger sizes take minutes per iteration, pick them with -p transitions=... when needed.
+// The solver settings default to a single value, compare them with e.g. -p fastPathMode=ON,OFF.
+// With -p resultStore=true every analysis starts with an empty in-memory cache but a result store filled by
+// one analysis during setup, which is what a rerun on an unchanged model sees.
+// maxConstant bounds the constants counters are compared with and so the width of their encoding, e.g.
+// -p maxConstant=100000 -p integerEncoding=AUTO,BIT_BLAST for bit-blasts beyond MAX_BIT_BLAST_WIDTH.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScalingBenchmark {
+
+	@Param({"100", "1000", "10000", "100000", "1000000"})
+	public int transitions;
+
+	@Param({"ON"})
+	public PropositionalFastPath.Mode fastPathMode;
+
+	@Param({"false"})
+	public boolean resultStore;
+
+	@Param({"AUTO"})
+	public IntegerEncoding.Mode integerEncoding;
+
+	@Param({"10"})
+	public int maxConstant;
+
+	private File folder;
+	private String modelPath;
+	private Grafcet grafcet;
+	private ExclusionTable exclusionTable;
+	private TransitionIndex transitionIndex;
+	private PersistentResultStore persistentStore;
+
+	@Setup
+	public void setUp() throws IOException {
+		BenchmarkModels.loadZ3();
+		GrafcetPackage.eINSTANCE.eClass();
+		SyntheticGrafcetGenerator.Settings settings = new SyntheticGrafcetGenerator.Settings();
+		settings.partialGrafcets = Math.max(1, transitions / 100);
+		settings.transitionsPerPartialGrafcet = transitions / settings.partialGrafcets;
+		settings.booleanVariables = Math.max(40, transitions / 10);
+		settings.integerVariables = Math.max(4, transitions / 100);
+		settings.exclusionRows = Math.max(20, transitions / 5);
+		settings.maxConstant = maxConstant;
+
+		folder = Files.createTempDirectory("grafcet-scaling").toFile();
+		modelPath = new File(folder, "synthetic_" + transitions + ".grafcet").getPath();
+		String tablePath = new File(folder, "synthetic_" + transitions + ".csv").getPath();
+		SyntheticGrafcetGenerator generator = new SyntheticGrafcetGenerator(settings);
+		grafcetFunctions.saveGrafcet(generator.generateGrafcet(), modelPath);
+		SyntheticGrafcetGenerator.saveExclusionTable(generator.generateExclusionRows(), tablePath);
+
+		grafcet = grafcetFunctions.loadGrafcet(modelPath);
+		exclusionTable = ExclusionTable.read(tablePath);
+		transitionIndex = TransitionIndex.build(grafcet);
+		if (resultStore) {
+			persistentStore = new PersistentResultStore(new File(folder, "solverResults.log").toPath(), 1L << 30);
+			analyze();
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (persistentStore != null) {
+			persistentStore.close();
+			persistentStore = null;
+		}
+		File[] files = folder.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		folder.delete();
+	}
+
+	@Benchmark
+	public Grafcet load() {
+		return grafcetFunctions.loadGrafcet(modelPath);
+	}
+
+	@Benchmark
+	public TransitionIndex extract() {
+		return TransitionIndex.build(grafcet);
+	}
+
+	@Benchmark
+	public List<List<Integer>> match() {
+		return transitionIndex.matchRows(exclusionTable);
+	}
+
+	@Benchmark
+	public List<Map<String, String>> analyze() {
+		return grafcetFunctions.staticAnalysisAlgorithm(exclusionTable, transitionIndex, newSolver());
+	}
+
+	private SMT_Solver newSolver() {
+		SMT_Solver smtSolver = new SMT_Solver();
+		smtSolver.setFastPathMode(fastPathMode);
+		smtSolver.setIntegerEncoding(integerEncoding);
+		smtSolver.setPersistentStore(persistentStore);
+		return smtSolver;
+	}
+}
@@ -0,0 +1,92 @@
+package de.rub.grafcet.eka2026.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.microsoft.z3.Context;
+
+import de.hsu.grafcet.Grafcet;
+import de.hsu.grafcet.Transition;
+import de.rub.grafcet.eka2026.ExclusionTable;
+import de.rub.grafcet.eka2026.SMT_Solver;
+import de.rub.grafcet.eka2026.TransitionExpressionExtractor;
+import de.rub.grafcet.eka2026.grafcetFunctions;
+
+// Solver calls per model and exclusion table: the one-shot checkIsSatisfiableZ3 for every transition
+// condition the string parser accepts, and the whole staticAnalysisAlgorithm with a fresh (cold cache) and a shared (warm cache) solver.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+
+	@Param({"eka2026_schumacher", "eka2026_faultySchumacher"})
+	public String model;
+
+	@Param({"exclusions_claude-3-7-sonnet-20250219", "exclusions_claude_sonnet_20250514", "exclusions_gpt_4o",
+			"exclusions_gpt_5", "exclusions_grok_4", "exclusions_mistral-large-2411", "exclusions_mistral-medium-2508"})
+	public String table;
+
+	private Grafcet grafcet;
+	private List<Map<String, String>> csvExclusionsFile;
+	private ExclusionTable exclusionTable;
+	private final List<String> conditions = new ArrayList<>();
+	private SMT_Solver warmSolver;
+
+	@Setup
+	public void setUp() {
+		BenchmarkModels.loadZ3();
+		grafcet = BenchmarkModels.loadModel(model);
+		csvExclusionsFile = BenchmarkModels.loadTable(table);
+		exclusionTable = ExclusionTable.fromRows(csvExclusionsFile);
+		try (Context ctx = new Context()) {
+			for (Transition transition : BenchmarkModels.transitions(grafcet)) {
+				String condition = TransitionExpressionExtractor.transitionToString(transition);
+				// as in ParsingBenchmark: checkIsSatisfiableZ3 only catches Z3Exception, a condition the string
+				// parser rejects otherwise (single variable, empty) would abort the whole parameter set
+				try {
+					SMT_Solver.parseSMTStack(SMT_Solver.parseExpression(condition), ctx, new HashMap<>(), new HashMap<>());
+					conditions.add(condition);
+				} catch (RuntimeException e) {
+					// Z3Exception and the parser's own failures
+				}
+			}
+		}
+		warmSolver = new SMT_Solver();
+	}
+
+	@Benchmark
+	public void checkIsSatisfiableZ3(Blackhole blackhole) {
+		for (String condition : conditions) {
+			blackhole.consume(SMT_Solver.checkIsSatisfiableZ3(condition, csvExclusionsFile));
+		}
+	}
+
+	@Benchmark
+	public List<Map<String, String>> staticAnalysisAlgorithm() {
+		return grafcetFunctions.staticAnalysisAlgorithm(exclusionTable, grafcet, new SMT_Solver());
+	}
+
+	@Benchmark
+	public List<Map<String, String>> staticAnalysisAlgorithmWarmCache() {
+		return grafcetFunctions.staticAnalysisAlgorithm(exclusionTable, grafcet, warmSolver);
+	}
+}
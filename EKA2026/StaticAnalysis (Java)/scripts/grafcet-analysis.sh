@@ -0,0 +1,55 @@
+#!/bin/sh
+# Starts the static analysis with an AppCDS archive, so the EMF, metamodel, analysis and Z3 classes are mapped
+# from the archive instead of being loaded and verified on every start.
+#
+#   scripts/grafcet-analysis.sh [--warmup] [arguments of the main class]
+#
+# The first start (or --warmup) records the archive with a training run of StartupWarmup over
+# Metamodell-Instances and csvTablesFolder. Later starts map it. Recompiled classes repack the jar and record
+# the archive again; after replacing a library jar run --warmup, the JVM ignores an archive that does not match.
+# Z3 is loaded by the first query that needs it, see NativeLibraries; set Z3_LIBRARY_PATH to the folder with
+# libz3.so and libz3java.so unless they are bundled under native/linux-x86_64/ or on java.library.path.
+#
+# Environment:
+#   GRAFCET_LIBRARIES  class path of the EMF, grafcet/terms metamodel and com.microsoft.z3 jars (default: lib/*.jar)
+#   GRAFCET_CLASSES    compiled classes of this project (default: bin)
+#   GRAFCET_MAIN       main class (default: de.rub.grafcet.eka2026.DirectoryBatchRunner)
+#   JAVA_OPTS          further JVM options
+set -e
+
+DIR=$(cd "$(dirname "$0")/.." && pwd)
+CACHE="$DIR/.grafcetcache"
+CLASSES=${GRAFCET_CLASSES:-$DIR/bin}
+MAIN=${GRAFCET_MAIN:-de.rub.grafcet.eka2026.DirectoryBatchRunner}
+APP_JAR="$CACHE/grafcet-analysis.jar"
+ARCHIVE="$CACHE/grafcet-analysis.jsa"
+
+if [ -z "$GRAFCET_LIBRARIES" ]; then
+	GRAFCET_LIBRARIES=$(find "$DIR/lib" -name '*.jar' 2>/dev/null | sort | tr '\n' ':' | sed 's/:$//')
+fi
+
+mkdir -p "$CACHE"
+# CDS only archives classes from jars, so the class folder is packed first; a new jar invalidates the archive
+if [ ! -f "$APP_JAR" ] || [ -n "$(find "$CLASSES" -name '*.class' -newer "$APP_JAR" | head -n 1)" ]; then
+	rm -f "$APP_JAR" "$ARCHIVE"
+	jar --create --file "$APP_JAR" -C "$CLASSES" .
+fi
+CLASS_PATH="$APP_JAR${GRAFCET_LIBRARIES:+:$GRAFCET_LIBRARIES}"
+
+WARMUP_ONLY=false
+if [ "$1" = "--warmup" ]; then
+	WARMUP_ONLY=true
+	shift
+	rm -f "$ARCHIVE"
+fi
+
+# a failed training run must not keep the analysis from starting; it runs without (or with a partial) archive
+if [ ! -f "$ARCHIVE" ]; then
+	java -XX:ArchiveClassesAtExit="$ARCHIVE" $JAVA_OPTS -cp "$CLASS_PATH" de.rub.grafcet.eka2026.StartupWarmup \
+		"$DIR/Metamodell-Instances" "$DIR/csvTablesFolder" || echo "Warm-up failed, continuing without a complete archive" >&2
+fi
+if [ "$WARMUP_ONLY" = true ]; then
+	exit 0
+fi
+
+exec java -XX:SharedArchiveFile="$ARCHIVE" $JAVA_OPTS -cp "$CLASS_PATH" "$MAIN" "$@"
@@ -0,0 +1,48 @@
+#!/bin/sh
+# Compiles src and benchmarks/src, generates the JMH harness with its annotation processor and runs the benchmarks.
+#
+#   scripts/run-benchmarks.sh [regular expression of the benchmarks, default: all]
+#   BENCHMARK_MAIN=org.openjdk.jmh.Main scripts/run-benchmarks.sh ScalingBenchmark.analyze -p transitions=1000
+#
+# RunBenchmarks adds the GC profiler; org.openjdk.jmh.Main takes the JMH command line (-p, -f, -i, -prof, ...).
+# Z3 is looked up as by the analysis, with z3/bin of the project as configured folder, see BenchmarkModels.
+#
+# Environment:
+#   GRAFCET_LIBRARIES  class path of the EMF, grafcet/terms metamodel and com.microsoft.z3 jars (default: lib/*.jar)
+#   JMH_LIBRARIES      class path of jmh-core, jmh-generator-annprocess, jopt-simple and commons-math3
+#                      (default: benchmark-lib/*.jar)
+#   BENCHMARK_MAIN     main class (default: de.rub.grafcet.eka2026.benchmarks.RunBenchmarks)
+#   JAVA_OPTS          further JVM options
+set -e
+
+DIR=$(cd "$(dirname "$0")/.." && pwd)
+BUILD="$DIR/.grafcetcache/build"
+MAIN=${BENCHMARK_MAIN:-de.rub.grafcet.eka2026.benchmarks.RunBenchmarks}
+
+if [ -z "$GRAFCET_LIBRARIES" ]; then
+	GRAFCET_LIBRARIES=$(find "$DIR/lib" -name '*.jar' 2>/dev/null | sort | tr '\n' ':' | sed 's/:$//')
+fi
+if [ -z "$JMH_LIBRARIES" ]; then
+	JMH_LIBRARIES=$(find "$DIR/benchmark-lib" -name '*.jar' 2>/dev/null | sort | tr '\n' ':' | sed 's/:$//')
+fi
+if [ -z "$JMH_LIBRARIES" ]; then
+	echo "No JMH: put jmh-core, jmh-generator-annprocess and their dependencies into benchmark-lib/ or set JMH_LIBRARIES" >&2
+	exit 1
+fi
+
+# the project folder has a space in its name, so the sources go to javac quoted in an argument file
+sources() {
+	find "$1" -name '*.java' | sed 's/.*/"&"/' > "$2"
+}
+
+rm -rf "$BUILD/classes" "$BUILD/benchmark-classes"
+mkdir -p "$BUILD/classes" "$BUILD/benchmark-classes"
+sources "$DIR/src" "$BUILD/sources.txt"
+javac -encoding UTF-8 -d "$BUILD/classes" -cp "$GRAFCET_LIBRARIES" "@$BUILD/sources.txt"
+# the processor writes the generated benchmark classes and META-INF/BenchmarkList next to the compiled ones
+sources "$DIR/benchmarks/src" "$BUILD/benchmark-sources.txt"
+javac -encoding UTF-8 -d "$BUILD/benchmark-classes" -cp "$BUILD/classes:$GRAFCET_LIBRARIES:$JMH_LIBRARIES" \
+	-processorpath "$JMH_LIBRARIES" "@$BUILD/benchmark-sources.txt"
+
+cd "$DIR"
+exec java $JAVA_OPTS -cp "$BUILD/benchmark-classes:$BUILD/classes:$GRAFCET_LIBRARIES:$JMH_LIBRARIES" "$MAIN" "$@"
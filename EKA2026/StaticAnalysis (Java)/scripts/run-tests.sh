@@ -0,0 +1,52 @@
+#!/bin/sh
+# Compiles src and tests/src and runs the JUnit 5 tests with the console launcher.
+#
+#   scripts/run-tests.sh [options of the console launcher; without --select-... every test in tests/src runs]
+#   scripts/run-tests.sh --select-class de.rub.grafcet.eka2026.MinimalCoreTest
+#
+# The tests that solve use the real Z3: the com.microsoft.z3 jar has to be on GRAFCET_LIBRARIES and its native
+# libraries are found as by the analysis, see NativeLibraries (Z3_LIBRARY_PATH, native/<os>-<arch>/ on the
+# class path or java.library.path).
+#
+# Environment:
+#   GRAFCET_LIBRARIES  class path of the EMF, grafcet/terms metamodel and com.microsoft.z3 jars (default: lib/*.jar)
+#   TEST_LIBRARIES     class path of junit-platform-console-standalone (default: test-lib/*.jar)
+#   JAVA_OPTS          further JVM options
+set -e
+
+DIR=$(cd "$(dirname "$0")/.." && pwd)
+BUILD="$DIR/.grafcetcache/build"
+
+if [ -z "$GRAFCET_LIBRARIES" ]; then
+	GRAFCET_LIBRARIES=$(find "$DIR/lib" -name '*.jar' 2>/dev/null | sort | tr '\n' ':' | sed 's/:$//')
+fi
+if [ -z "$TEST_LIBRARIES" ]; then
+	TEST_LIBRARIES=$(find "$DIR/test-lib" -name '*.jar' 2>/dev/null | sort | tr '\n' ':' | sed 's/:$//')
+fi
+if [ -z "$TEST_LIBRARIES" ]; then
+	echo "No JUnit console launcher: put junit-platform-console-standalone into test-lib/ or set TEST_LIBRARIES" >&2
+	exit 1
+fi
+
+# the project folder has a space in its name, so the sources go to javac quoted in an argument file
+sources() {
+	find "$1" -name '*.java' | sed 's/.*/"&"/' > "$2"
+}
+
+rm -rf "$BUILD/classes" "$BUILD/test-classes"
+mkdir -p "$BUILD/classes" "$BUILD/test-classes"
+sources "$DIR/src" "$BUILD/sources.txt"
+javac -encoding UTF-8 -d "$BUILD/classes" -cp "$GRAFCET_LIBRARIES" "@$BUILD/sources.txt"
+sources "$DIR/tests/src" "$BUILD/test-sources.txt"
+javac -encoding UTF-8 -d "$BUILD/test-classes" -cp "$BUILD/classes:$GRAFCET_LIBRARIES:$TEST_LIBRARIES" "@$BUILD/test-sources.txt"
+
+CLASS_PATH="$BUILD/test-classes:$BUILD/classes${GRAFCET_LIBRARIES:+:$GRAFCET_LIBRARIES}"
+# every test unless the arguments select some
+case " $* " in
+	*" --select"* | *" --scan"*) ;;
+	*) set -- "$@" --scan-class-path "$BUILD/test-classes" ;;
+esac
+# the tests read csvTablesFolder and Metamodell-Instances relative to the project
+cd "$DIR"
+exec java $JAVA_OPTS -cp "$TEST_LIBRARIES" org.junit.platform.console.ConsoleLauncher execute \
+	--class-path "$CLASS_PATH" --disable-banner "$@"
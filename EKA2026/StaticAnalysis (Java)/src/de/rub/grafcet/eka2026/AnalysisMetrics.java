@@ -0,0 +1,249 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Counters and per-phase latency histograms of the analysis pipeline. One registry is shared by everything
+// that runs through an SMT_Solver; the static entry points (model loading, the one-shot checkIsSatisfiableZ3)
+// report to global(). All updates are lock-free, sessions on several threads can share one registry.
+public class AnalysisMetrics implements AnalysisMetricsMBean {
+
+	public enum Phase {
+		LOAD, EXTRACT, MATCH, PARSE, SOLVE
+	}
+
+	public static final String OBJECT_NAME = "de.rub.grafcet.eka2026:type=AnalysisMetrics";
+
+	private static final AnalysisMetrics GLOBAL = new AnalysisMetrics();
+
+	private final LongAdder transitionsScanned = new LongAdder();
+	private final LongAdder exclusionRowsMatched = new LongAdder();
+	private final LongAdder solverCalls = new LongAdder();
+	private final LongAdder satOutcomes = new LongAdder();
+	private final LongAdder unsatOutcomes = new LongAdder();
+	private final LongAdder errorOutcomes = new LongAdder();
+	private final LongAdder z3Exceptions = new LongAdder();
+	private final LongAdder implicationGraphQueries = new LongAdder();
+	private final LongAdder fastPathQueries = new LongAdder();
+	private final LongAdder normalizerSettledQueries = new LongAdder();
+	private final LongAdder fastPathMismatches = new LongAdder();
+	private final LatencyHistogram[] latencies = new LatencyHistogram[Phase.values().length];
+
+	public AnalysisMetrics() {
+		for (int i = 0; i < latencies.length; i++) {
+			latencies[i] = new LatencyHistogram();
+		}
+	}
+
+	public static AnalysisMetrics global() {
+		return GLOBAL;
+	}
+
+	public void transitionScanned() {
+		transitionsScanned.increment();
+	}
+
+	public void exclusionRowsMatched(int rows) {
+		exclusionRowsMatched.add(rows);
+	}
+
+	public void solverCall() {
+		solverCalls.increment();
+	}
+
+	public void z3Exception() {
+		z3Exceptions.increment();
+	}
+
+	public void implicationGraphQuery() {
+		implicationGraphQueries.increment();
+	}
+
+	public void fastPathQuery() {
+		fastPathQueries.increment();
+	}
+
+	// the FormulaNormalizer folded the condition to TRUE or FALSE, no solver was asked
+	public void normalizerSettledQuery() {
+		normalizerSettledQueries.increment();
+	}
+
+	public void fastPathMismatch() {
+		fastPathMismatches.increment();
+	}
+
+	public void outcome(SolverResult result) {
+		if (result.isError()) {
+			errorOutcomes.increment();
+		} else if (result.isSatisfiable()) {
+			satOutcomes.increment();
+		} else {
+			unsatOutcomes.increment();
+		}
+	}
+
+	// startNanos from System.nanoTime()
+	public void record(Phase phase, long startNanos) {
+		latencies[phase.ordinal()].record(System.nanoTime() - startNanos);
+	}
+
+	public LatencyHistogram latency(Phase phase) {
+		return latencies[phase.ordinal()];
+	}
+
+	// registers this registry under OBJECT_NAME, replacing an earlier registration
+	public void registerMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			server.registerMBean(this, name);
+		} catch (JMException e) {
+			System.out.println("Could not register metrics MBean: " + e.getMessage());
+		}
+	}
+
+	// prints the report every periodSeconds on a daemon thread until the returned executor is shut down
+	public ScheduledExecutorService startPeriodicDump(long periodSeconds, PrintStream out) {
+		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "analysis-metrics-dump");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleAtFixedRate(() -> out.println(getReport()), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+		return scheduler;
+	}
+
+	@Override
+	public long getTransitionsScanned() {
+		return transitionsScanned.sum();
+	}
+
+	@Override
+	public long getExclusionRowsMatched() {
+		return exclusionRowsMatched.sum();
+	}
+
+	@Override
+	public long getSolverCalls() {
+		return solverCalls.sum();
+	}
+
+	@Override
+	public long getSatOutcomes() {
+		return satOutcomes.sum();
+	}
+
+	@Override
+	public long getUnsatOutcomes() {
+		return unsatOutcomes.sum();
+	}
+
+	@Override
+	public long getErrorOutcomes() {
+		return errorOutcomes.sum();
+	}
+
+	@Override
+	public long getZ3Exceptions() {
+		return z3Exceptions.sum();
+	}
+
+	@Override
+	public long getImplicationGraphQueries() {
+		return implicationGraphQueries.sum();
+	}
+
+	@Override
+	public long getFastPathQueries() {
+		return fastPathQueries.sum();
+	}
+
+	@Override
+	public long getNormalizerSettledQueries() {
+		return normalizerSettledQueries.sum();
+	}
+
+	@Override
+	public long getFastPathMismatches() {
+		return fastPathMismatches.sum();
+	}
+
+	@Override
+	public String getLoadLatency() {
+		return latency(Phase.LOAD).toString();
+	}
+
+	@Override
+	public String getExtractLatency() {
+		return latency(Phase.EXTRACT).toString();
+	}
+
+	@Override
+	public String getMatchLatency() {
+		return latency(Phase.MATCH).toString();
+	}
+
+	@Override
+	public String getParseLatency() {
+		return latency(Phase.PARSE).toString();
+	}
+
+	@Override
+	public String getSolveLatency() {
+		return latency(Phase.SOLVE).toString();
+	}
+
+	@Override
+	public String getReport() {
+		StringBuilder report = new StringBuilder("Analysis metrics: ");
+		report.append(getTransitionsScanned()).append(" transitions scanned, ");
+		report.append(getExclusionRowsMatched()).append(" exclusion rows matched, ");
+		report.append(getSolverCalls()).append(" Z3 calls, ");
+		report.append(getImplicationGraphQueries()).append(" implication graph queries, ");
+		report.append(getFastPathQueries()).append(" fast path queries, ");
+		report.append(getNormalizerSettledQueries()).append(" settled by the normalizer, outcomes: ");
+		report.append(getSatOutcomes()).append(" sat, ");
+		report.append(getUnsatOutcomes()).append(" unsat, ");
+		report.append(getErrorOutcomes()).append(" error, ");
+		report.append(getZ3Exceptions()).append(" Z3 exceptions, ");
+		report.append(getFastPathMismatches()).append(" fast path mismatches");
+		for (Phase phase : Phase.values()) {
+			report.append(System.lineSeparator()).append("  ").append(phase).append(": ").append(latency(phase));
+		}
+		return report.toString();
+	}
+
+	@Override
+	public void reset() {
+		transitionsScanned.reset();
+		exclusionRowsMatched.reset();
+		solverCalls.reset();
+		satOutcomes.reset();
+		unsatOutcomes.reset();
+		errorOutcomes.reset();
+		z3Exceptions.reset();
+		implicationGraphQueries.reset();
+		fastPathQueries.reset();
+		normalizerSettledQueries.reset();
+		fastPathMismatches.reset();
+		for (LatencyHistogram latency : latencies) {
+			latency.reset();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getReport();
+	}
+}
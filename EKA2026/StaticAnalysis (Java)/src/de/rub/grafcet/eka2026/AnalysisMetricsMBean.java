@@ -0,0 +1,40 @@
+package de.rub.grafcet.eka2026;
+
+// JMX view of AnalysisMetrics, registered as de.rub.grafcet.eka2026:type=AnalysisMetrics
+public interface AnalysisMetricsMBean {
+	long getTransitionsScanned();
+
+	long getExclusionRowsMatched();
+
+	long getSolverCalls();
+
+	long getSatOutcomes();
+
+	long getUnsatOutcomes();
+
+	long getErrorOutcomes();
+
+	long getZ3Exceptions();
+
+	long getImplicationGraphQueries();
+
+	long getFastPathQueries();
+
+	long getNormalizerSettledQueries();
+
+	long getFastPathMismatches();
+
+	String getLoadLatency();
+
+	String getExtractLatency();
+
+	String getMatchLatency();
+
+	String getParseLatency();
+
+	String getSolveLatency();
+
+	String getReport();
+
+	void reset();
+}
@@ -0,0 +1,321 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+import de.hsu.grafcet.Grafcet;
+import de.hsu.grafcet.GrafcetPackage;
+
+// Analysis daemon for editor integration: one JVM with the EMF package and Z3 loaded keeps parsed models
+// (as TransitionIndex with their extracted and canonical conditions), exclusion tables and warm session pools
+// in LRU caches. It listens on a loopback TCP port or a Unix domain socket, one thread per client.
+// Protocol, one request per line, fields separated by tabs (paths may contain spaces):
+//   ANALYZE<TAB>modelPath<TAB>csvPath  ->  "OK n" and the n output rows in the printOutputTable format
+//   STATS                              ->  "OK n" and n lines of cache and metrics report
+//   QUIT                               ->  closes the connection
+// Failures answer "ERROR message". A model or table file that changed on disk (modification time or size)
+// is loaded again.
+public class AnalysisServer implements AutoCloseable {
+
+	public static class Settings {
+		public int port = 7531;
+		// set = listen on this Unix domain socket instead of the port
+		public String unixSocket;
+		public int maxModels = 8;
+		public int maxTables = 16;
+		public int sessionsPerTable = 2;
+		public int clientThreads = 8;
+		public boolean useModelCache = true;
+	}
+
+	private static class ModelEntry {
+		private final String stamp;
+		private final FutureTask<TransitionIndex> load;
+
+		ModelEntry(String stamp, FutureTask<TransitionIndex> load) {
+			this.stamp = stamp;
+			this.load = load;
+		}
+	}
+
+	// the session pool is closed once the entry is evicted and no request uses it any more
+	private class TableEntry {
+		private final String stamp;
+		private final FutureTask<ExclusionTable> load;
+		private volatile AnalysisSessionPool pool;
+		private int users;
+		private boolean evicted;
+
+		TableEntry(String path, String stamp) {
+			this.stamp = stamp;
+			this.load = new FutureTask<>(() -> {
+				ExclusionTable exclusionTable = ExclusionTable.read(path);
+				pool = smtSolver.openSessionPool(exclusionTable, settings.sessionsPerTable);
+				return exclusionTable;
+			});
+		}
+
+		void retire() {
+			evicted = true;
+			if (users == 0 && pool != null) {
+				pool.close();
+			}
+		}
+	}
+
+	private final Settings settings;
+	private final SMT_Solver smtSolver;
+	private final ExecutorService clients;
+	private ServerSocketChannel serverChannel;
+	private final Map<String, ModelEntry> models;
+	private final Map<String, TableEntry> tables;
+
+	public AnalysisServer(Settings settings, SMT_Solver smtSolver) {
+		this.settings = settings;
+		this.smtSolver = smtSolver;
+		this.clients = Executors.newFixedThreadPool(settings.clientThreads);
+		this.models = new LinkedHashMap<String, ModelEntry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ModelEntry> eldest) {
+				return size() > settings.maxModels;
+			}
+		};
+		this.tables = new LinkedHashMap<String, TableEntry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, TableEntry> eldest) {
+				if (size() > settings.maxTables) {
+					eldest.getValue().retire();
+					return true;
+				}
+				return false;
+			}
+		};
+		GrafcetPackage.eINSTANCE.eClass();
+	}
+
+	// accepts clients until close() is called
+	public void serve() throws IOException {
+		if (settings.unixSocket != null) {
+			Path socket = Paths.get(settings.unixSocket);
+			Files.deleteIfExists(socket);
+			serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+			serverChannel.bind(UnixDomainSocketAddress.of(socket));
+			System.out.println("Analysis server listening on " + socket);
+		} else {
+			serverChannel = ServerSocketChannel.open();
+			serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), settings.port));
+			System.out.println("Analysis server listening on " + serverChannel.getLocalAddress());
+		}
+		while (serverChannel.isOpen()) {
+			SocketChannel client;
+			try {
+				client = serverChannel.accept();
+			} catch (IOException e) {
+				// closed by close()
+				break;
+			}
+			clients.submit(() -> handle(client));
+		}
+	}
+
+	private void handle(SocketChannel client) {
+		try (SocketChannel channel = client;
+				BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+				PrintWriter out = new PrintWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (line.trim().equals("QUIT")) {
+					break;
+				}
+				List<String> response;
+				try {
+					response = execute(line);
+					out.print("OK " + response.size() + "\n");
+				} catch (Throwable e) {
+					// an Error from Z3 (UnsatisfiedLinkError, NoClassDefFoundError) fails this request, not the connection
+					if (e instanceof VirtualMachineError) {
+						throw (VirtualMachineError) e;
+					}
+					Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+					String message = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+					response = new ArrayList<>();
+					out.print("ERROR " + message.replace('\n', ' ') + "\n");
+				}
+				for (String responseLine : response) {
+					out.print(responseLine + "\n");
+				}
+				out.flush();
+			}
+		} catch (IOException e) {
+			// client went away
+		}
+	}
+
+	List<String> execute(String request) throws Exception {
+		String[] fields = request.split("\t");
+		switch (fields[0].trim()) {
+			case "ANALYZE":
+				if (fields.length != 3) {
+					throw new IllegalArgumentException("Expected ANALYZE<TAB>modelPath<TAB>csvPath");
+				}
+				List<String> rows = new ArrayList<>();
+				for (Map<String, String> row : analyze(fields[1], fields[2])) {
+					rows.add(grafcetFunctions.formatOutputRow(row));
+				}
+				return rows;
+			case "STATS":
+				List<String> report = new ArrayList<>();
+				synchronized (models) {
+					report.add(models.size() + " models cached");
+				}
+				synchronized (tables) {
+					report.add(tables.size() + " tables cached");
+				}
+				report.add(smtSolver.getResultCache().toString());
+				for (String reportLine : smtSolver.getMetrics().getReport().split("\\R")) {
+					report.add(reportLine);
+				}
+				return report;
+			default:
+				throw new IllegalArgumentException("Unknown request: " + fields[0]);
+		}
+	}
+
+	public List<Map<String, String>> analyze(String modelPath, String csvPath) throws Exception {
+		TransitionIndex transitionIndex = model(modelPath);
+		TableEntry table = acquireTable(csvPath);
+		try {
+			table.load.run();
+			ExclusionTable exclusionTable = table.load.get();
+			AnalysisSession session = table.pool.borrow();
+			try {
+				return grafcetFunctions.staticAnalysisAlgorithm(exclusionTable, transitionIndex, session);
+			} finally {
+				table.pool.release(session);
+			}
+		} finally {
+			releaseTable(table);
+		}
+	}
+
+	// a model is parsed by the first request that needs it, concurrent requests for it wait for that load
+	private TransitionIndex model(String path) throws Exception {
+		String stamp = stamp(path);
+		ModelEntry entry;
+		synchronized (models) {
+			entry = models.get(path);
+			if (entry == null || !entry.stamp.equals(stamp)) {
+				entry = new ModelEntry(stamp, new FutureTask<>(() -> TransitionIndex.build(loadModel(path), smtSolver.getMetrics())));
+				models.put(path, entry);
+			}
+		}
+		entry.load.run();
+		return entry.load.get();
+	}
+
+	protected Grafcet loadModel(String path) {
+		Grafcet grafcet = settings.useModelCache ? GrafcetModelCache.load(path) : grafcetFunctions.loadGrafcet(path);
+		if (grafcet == null) {
+			throw new IllegalStateException("Could not load " + path);
+		}
+		return grafcet;
+	}
+
+	private TableEntry acquireTable(String path) throws IOException {
+		String stamp = stamp(path);
+		synchronized (tables) {
+			TableEntry entry = tables.get(path);
+			if (entry == null || !entry.stamp.equals(stamp)) {
+				if (entry != null) {
+					tables.remove(path);
+					entry.retire();
+				}
+				entry = new TableEntry(path, stamp);
+				tables.put(path, entry);
+			}
+			entry.users++;
+			return entry;
+		}
+	}
+
+	private void releaseTable(TableEntry entry) {
+		synchronized (tables) {
+			entry.users--;
+			if (entry.evicted) {
+				entry.retire();
+			}
+		}
+	}
+
+	private static String stamp(String path) throws IOException {
+		File file = new File(path);
+		if (!file.isFile()) {
+			throw new IOException("No such file: " + path);
+		}
+		return file.lastModified() + ":" + file.length();
+	}
+
+	@Override
+	public void close() {
+		try {
+			if (serverChannel != null) {
+				serverChannel.close();
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		clients.shutdownNow();
+		synchronized (tables) {
+			for (TableEntry entry : tables.values()) {
+				entry.retire();
+			}
+			tables.clear();
+		}
+		if (settings.unixSocket != null) {
+			new File(settings.unixSocket).delete();
+		}
+	}
+
+	// args: [--port n | --unix socketPath] [--models n] [--tables n] [--z3 z3BinFolder]
+	public static void main(String[] args) throws IOException {
+		Settings settings = new Settings();
+		String z3BinFolder = null;
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			switch (args[i]) {
+				case "--port": settings.port = Integer.parseInt(args[i + 1]); break;
+				case "--unix": settings.unixSocket = args[i + 1]; break;
+				case "--models": settings.maxModels = Integer.parseInt(args[i + 1]); break;
+				case "--tables": settings.maxTables = Integer.parseInt(args[i + 1]); break;
+				case "--z3": z3BinFolder = args[i + 1]; break;
+				default: System.out.println("Unknown option: " + args[i]);
+			}
+		}
+		if (z3BinFolder != null) {
+			NativeLibraries.setZ3Folder(z3BinFolder);
+		}
+		AnalysisServer server = new AnalysisServer(settings, new SMT_Solver());
+		Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+		server.serve();
+	}
+}
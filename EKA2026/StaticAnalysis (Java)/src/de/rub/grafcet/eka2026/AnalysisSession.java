@@ -0,0 +1,346 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.microsoft.z3.BoolExpr;
+import com.microsoft.z3.Context;
+import com.microsoft.z3.IntExpr;
+import com.microsoft.z3.Solver;
+import com.microsoft.z3.Statistics;
+import com.microsoft.z3.Status;
+import com.microsoft.z3.Z3Exception;
+
+import terms.Term;
+
+// One Z3 context and solver for a whole analysis run.
+// The exclusion table is asserted once at the base level, every transition is checked in its own push/pop scope.
+// Each exclusion row is guarded by its own tracking literal so unsatisfiable transitions can name the rows responsible.
+// Purely Boolean conditions are decided by the ExclusionImplicationGraph (conjunctions of literals) or the
+// PropositionalFastPath; the Z3 context is only created for the first query that needs it.
+// Integer comparisons are encoded as the IntegerEncoding mode chooses for the ranges of the model; bit-blasted
+// ones leave the condition Boolean, so it is decided without Z3 as well.
+// Every condition is simplified by the FormulaNormalizer first; one that folds to a constant needs no solver.
+public class AnalysisSession implements AutoCloseable {
+	// a server session sees many models; the graph starts over beyond this many nodes
+	private static final int MAX_FORMULA_NODES = 1 << 20;
+
+	private final ExclusionTable exclusionTable;
+	private Context ctx;
+	private Solver solver;
+	private final Map<String, BoolExpr> boolVars = new HashMap<>();
+	private final Map<String, IntExpr> intVars = new HashMap<>();
+	private TermToZ3Compiler compiler;
+	private final FormulaDag formulaDag = new FormulaDag();
+	private final FormulaNormalizer normalizer = new FormulaNormalizer(formulaDag);
+	private BoolExpr[] rowLiterals;
+	private final SolverResultCache resultCache;
+	private final long exclusionSetHash;
+	private final AnalysisMetrics metrics;
+	private final PropositionalFastPath.Mode fastPathMode;
+	private final PropositionalFastPath fastPath;
+	private final IntegerEncoding.Mode integerEncodingMode;
+	// for the ranges of the last model; the FormulaDag reconverts its terms when this changes
+	private IntegerEncoding integerEncoding;
+	private final ExclusionImplicationGraph implicationGraph;
+
+	public AnalysisSession(ExclusionTable exclusionTable) {
+		this(exclusionTable, new SolverResultCache());
+	}
+
+	public AnalysisSession(ExclusionTable exclusionTable, SolverResultCache resultCache) {
+		this(exclusionTable, resultCache, AnalysisMetrics.global());
+	}
+
+	public AnalysisSession(ExclusionTable exclusionTable, SolverResultCache resultCache, AnalysisMetrics metrics) {
+		this(exclusionTable, resultCache, metrics, PropositionalFastPath.Mode.ON);
+	}
+
+	public AnalysisSession(ExclusionTable exclusionTable, SolverResultCache resultCache, AnalysisMetrics metrics,
+			PropositionalFastPath.Mode fastPathMode) {
+		this(exclusionTable, resultCache, metrics, fastPathMode, IntegerEncoding.Mode.AUTO);
+	}
+
+	public AnalysisSession(ExclusionTable exclusionTable, SolverResultCache resultCache, AnalysisMetrics metrics,
+			PropositionalFastPath.Mode fastPathMode, IntegerEncoding.Mode integerEncodingMode) {
+		this.exclusionTable = exclusionTable;
+		this.resultCache = resultCache;
+		this.metrics = metrics;
+		this.exclusionSetHash = exclusionTable.contentHash();
+		this.fastPathMode = fastPathMode;
+		this.fastPath = fastPathMode == PropositionalFastPath.Mode.OFF ? null : new PropositionalFastPath(exclusionTable);
+		this.implicationGraph = fastPath == null ? null : exclusionTable.getImplicationGraph();
+		this.integerEncodingMode = integerEncodingMode;
+	}
+
+	private void startZ3() {
+		if (ctx != null) {
+			return;
+		}
+		NativeLibraries.ensureZ3Loaded();
+		this.ctx = new Context();
+		this.solver = ctx.mkSolver();
+		this.compiler = new TermToZ3Compiler(ctx, boolVars, intVars, formulaDag);
+		this.rowLiterals = new BoolExpr[exclusionTable.size()];
+		for (int i = 0; i < rowLiterals.length; i++) {
+			BoolExpr var1 = literal(exclusionTable.variableName(exclusionTable.var1Id(i)), exclusionTable.isVar1Negated(i));
+			BoolExpr var2 = literal(exclusionTable.variableName(exclusionTable.var2Id(i)), exclusionTable.isVar2Negated(i));
+			// Default mutual exclusion: not both true
+			BoolExpr exclusionConstraint = ctx.mkNot(ctx.mkAnd(var1, var2));
+			rowLiterals[i] = ctx.mkBoolConst("exclusionRow_" + i);
+			solver.add(ctx.mkImplies(rowLiterals[i], exclusionConstraint));
+		}
+	}
+
+	private BoolExpr literal(String variable, boolean negated) {
+		BoolExpr var = compiler.boolVar(variable);
+		return negated ? ctx.mkNot(var) : var;
+	}
+
+	public AnalysisMetrics getMetrics() {
+		return metrics;
+	}
+
+	public boolean checkIsSatisfiable(String booleanExpression) {
+		return check(booleanExpression).isSatisfiable();
+	}
+
+	// transition conditions are compiled straight from the model, the string form is only used for reporting
+	public SolverResult check(Term term) {
+		return check(term, CanonicalFormula.of(term), IntegerEncoding.Ranges.of(term), null);
+	}
+
+	public SolverResult check(TransitionIndex.IndexedTransition indexedTransition) {
+		SolverQueryEvent event = new SolverQueryEvent();
+		event.begin();
+		SolverResult result = check(indexedTransition.getTransition().getTerm(), indexedTransition.getCanonicalFormula(),
+				indexedTransition.getIntegerRanges(), event);
+		event.end();
+		if (event.shouldCommit()) {
+			event.finish(indexedTransition, exclusionTable.size(), result);
+			event.commit();
+		}
+		return result;
+	}
+
+	// the encodings are equisatisfiable, so cached results hold for every mode and range
+	private SolverResult check(Term term, String canonicalFormula, IntegerEncoding.Ranges ranges, SolverQueryEvent event) {
+		SolverResultCache.QueryKey key = new SolverResultCache.QueryKey(canonicalFormula, exclusionSetHash);
+		boolean[] solved = {false};
+		SolverResult result = resultCache.getOrSolve(key, () -> {
+			solved[0] = true;
+			return solve(term, ranges, event);
+		});
+		if (!solved[0] && event != null) {
+			// from the in-memory map or the persistent store
+			event.cacheHit();
+		}
+		return result;
+	}
+
+	private SolverResult solve(Term term, IntegerEncoding.Ranges ranges, SolverQueryEvent event) {
+		if (integerEncoding == null || integerEncoding.getRanges() != ranges) {
+			integerEncoding = new IntegerEncoding(integerEncodingMode, ranges);
+		}
+		long start = System.nanoTime();
+		FormulaDag.Node formula;
+		try {
+			formula = normalizer.normalize(formula(term));
+		}
+		catch (IllegalArgumentException e) {
+			System.out.println("Unsupported transition condition: " + e.getMessage());
+			return failed();
+		}
+		finally {
+			metrics.record(AnalysisMetrics.Phase.PARSE, start);
+		}
+		SolverResult result = settle(formula);
+		if (result == null) {
+			result = solveWithoutZ3(term, formula);
+		}
+		if (result == null) {
+			return solveWithZ3(formula, event);
+		}
+		if (event != null) {
+			event.solvedInJava();
+		}
+		if (fastPathMode == PropositionalFastPath.Mode.VERIFY) {
+			// Z3's answer is returned and counted, not this one
+			return verify(term, result);
+		}
+		metrics.outcome(result);
+		return result;
+	}
+
+	// a condition the normalizer folded to a constant: FALSE on its own (empty core, as MinimalCore gives it),
+	// TRUE whenever the table itself is satisfiable; null otherwise
+	private SolverResult settle(FormulaDag.Node formula) {
+		if (fastPath == null) {
+			return null;
+		}
+		SolverResult result;
+		if (formula.getKind() == FormulaDag.Kind.FALSE) {
+			result = new SolverResult(false, new int[0]);
+		} else if (formula.getKind() == FormulaDag.Kind.TRUE && implicationGraph.isConsistent()) {
+			result = new SolverResult(true, null);
+		} else {
+			return null;
+		}
+		metrics.normalizerSettledQuery();
+		return result;
+	}
+
+	// conjunctions of literals against the implication closure, other Boolean conditions (including bit-blasted
+	// integer comparisons) with DPLL; null if Z3 is needed
+	private SolverResult solveWithoutZ3(Term term, FormulaDag.Node formula) {
+		if (fastPath == null || !implicationGraph.isConsistent()) {
+			return null;
+		}
+		long start = System.nanoTime();
+		SolverResult result;
+		if (ExclusionImplicationGraph.isConjunctive(term)) {
+			result = implicationGraph.check(term);
+			metrics.implicationGraphQuery();
+		} else if (PropositionalFastPath.isPropositional(formula)) {
+			result = fastPath.check(formula);
+			metrics.fastPathQuery();
+		} else {
+			return null;
+		}
+		metrics.record(AnalysisMetrics.Phase.SOLVE, start);
+		return result;
+	}
+
+	// Z3's answer on the condition as extracted, before normalization, counts; a different verdict or core is reported
+	private SolverResult verify(Term term, SolverResult fastResult) {
+		SolverResult z3Result = solveWithZ3(formula(term), null);
+		if (!z3Result.isError() && (z3Result.isSatisfiable() != fastResult.isSatisfiable()
+				|| !Arrays.equals(z3Result.getUnsatCore(), fastResult.getUnsatCore()))) {
+			metrics.fastPathMismatch();
+			System.out.println("Fast path mismatch for " + CanonicalFormula.of(term) + ": "
+					+ fastResult.isSatisfiable() + " " + Arrays.toString(fastResult.getUnsatCore()) + ", Z3: "
+					+ z3Result.isSatisfiable() + " " + Arrays.toString(z3Result.getUnsatCore()));
+		}
+		return z3Result;
+	}
+
+	private SolverResult solveWithZ3(FormulaDag.Node node, SolverQueryEvent event) {
+		startZ3();
+		long start = System.nanoTime();
+		BoolExpr formula;
+		try {
+			formula = compiler.compile(node);
+		}
+		catch (IllegalArgumentException e) {
+			System.out.println("Unsupported transition condition: " + e.getMessage());
+			return failed();
+		}
+		finally {
+			metrics.record(AnalysisMetrics.Phase.PARSE, start);
+		}
+		return solve(formula, event);
+	}
+
+	private FormulaDag.Node formula(Term term) {
+		if (formulaDag.size() > MAX_FORMULA_NODES) {
+			formulaDag.clear();
+			normalizer.clear();
+			if (compiler != null) {
+				compiler.clear();
+			}
+		}
+		return formulaDag.node(term, integerEncoding);
+	}
+
+	public SolverResult check(String booleanExpression) {
+		startZ3();
+		booleanExpression = SMT_Solver.parseExpression(booleanExpression);
+		// fresh maps per formula: parseSMTStack relies on the order in which the formula's own variables appear,
+		// the constants themselves are shared with the exclusion constraints through the context
+		Map<String, BoolExpr> formulaBoolVars = new HashMap<>();
+		Map<String, IntExpr> formulaIntVars = new HashMap<>();
+		long start = System.nanoTime();
+		BoolExpr formula;
+		try {
+			formula = SMT_Solver.parseSMTStack(booleanExpression, ctx, formulaBoolVars, formulaIntVars);
+		}
+		catch (Z3Exception e) {
+			System.out.println("Z3 Exception: " + e.getMessage());
+			metrics.z3Exception();
+			return failed();
+		}
+		finally {
+			metrics.record(AnalysisMetrics.Phase.PARSE, start);
+		}
+		return solve(formula, null);
+	}
+
+	private SolverResult solve(BoolExpr formula, SolverQueryEvent event) {
+		metrics.solverCall();
+		long start = System.nanoTime();
+		// statistics are only read while a flight recording is running
+		Statistics before = event != null && event.isEnabled() ? statistics() : null;
+		SolverResult result;
+		solver.push();
+		try {
+			solver.add(formula);
+
+			Status status = solver.check(rowLiterals);
+			if (status == Status.SATISFIABLE) {
+				result = new SolverResult(true, null);
+			} else if (status == Status.UNSATISFIABLE) {
+				int[] core = MinimalCore.extract(rowLiterals.length, this::isUnsatWithRows);
+				result = new SolverResult(false, core);
+			} else {
+				// timeout or incomplete theory: neither a verdict nor a core
+				System.out.println("Z3 could not decide the query: " + solver.getReasonUnknown());
+				result = SolverResult.error();
+			}
+		}
+		catch (Z3Exception e) {
+			System.out.println("Z3 Exception: " + e.getMessage());
+			metrics.z3Exception();
+			result = SolverResult.error();
+		}
+		finally {
+			if (before != null) {
+				event.solved(before, statistics());
+			}
+			solver.pop();
+			metrics.record(AnalysisMetrics.Phase.SOLVE, start);
+		}
+		metrics.outcome(result);
+		return result;
+	}
+
+	private SolverResult failed() {
+		SolverResult result = SolverResult.error();
+		metrics.outcome(result);
+		return result;
+	}
+
+	private Statistics statistics() {
+		try {
+			return solver.getStatistics();
+		}
+		catch (Z3Exception e) {
+			return null;
+		}
+	}
+
+	private boolean isUnsatWithRows(int[] enabledRows) {
+		BoolExpr[] assumptions = new BoolExpr[enabledRows.length];
+		for (int i = 0; i < enabledRows.length; i++) {
+			assumptions[i] = rowLiterals[enabledRows[i]];
+		}
+		return solver.check(assumptions) == Status.UNSATISFIABLE;
+	}
+
+	@Override
+	public void close() {
+		if (ctx != null) {
+			ctx.close();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Bounded pool of sessions for one exclusion table. A Z3 context must not be used by two threads at once,
+// so every worker borrows a session of its own and hands it back when its chunk is done.
+// Once closed the pool hands out no sessions any more; close it only when no borrowed session is in use.
+public class AnalysisSessionPool implements AutoCloseable {
+	private final ExclusionTable exclusionTable;
+	private final SolverResultCache resultCache;
+	private final AnalysisMetrics metrics;
+	private final PropositionalFastPath.Mode fastPathMode;
+	private final IntegerEncoding.Mode integerEncodingMode;
+	private final int maxSessions;
+	private final BlockingQueue<AnalysisSession> idle;
+	private final List<AnalysisSession> created = new ArrayList<>();
+	private volatile boolean closed;
+
+	public AnalysisSessionPool(ExclusionTable exclusionTable, SolverResultCache resultCache, int maxSessions) {
+		this(exclusionTable, resultCache, AnalysisMetrics.global(), PropositionalFastPath.Mode.ON, maxSessions);
+	}
+
+	public AnalysisSessionPool(ExclusionTable exclusionTable, SolverResultCache resultCache, AnalysisMetrics metrics,
+			PropositionalFastPath.Mode fastPathMode, int maxSessions) {
+		this(exclusionTable, resultCache, metrics, fastPathMode, IntegerEncoding.Mode.AUTO, maxSessions);
+	}
+
+	public AnalysisSessionPool(ExclusionTable exclusionTable, SolverResultCache resultCache, AnalysisMetrics metrics,
+			PropositionalFastPath.Mode fastPathMode, IntegerEncoding.Mode integerEncodingMode, int maxSessions) {
+		if (maxSessions < 1) {
+			throw new IllegalArgumentException("maxSessions must be at least 1: " + maxSessions);
+		}
+		this.exclusionTable = exclusionTable;
+		this.resultCache = resultCache;
+		this.metrics = metrics;
+		this.fastPathMode = fastPathMode;
+		this.integerEncodingMode = integerEncodingMode;
+		this.maxSessions = maxSessions;
+		this.idle = new ArrayBlockingQueue<>(maxSessions);
+	}
+
+	public AnalysisSession borrow() throws InterruptedException {
+		checkOpen();
+		AnalysisSession session = idle.poll();
+		if (session == null) {
+			synchronized (created) {
+				checkOpen();
+				if (created.size() < maxSessions) {
+					session = new AnalysisSession(exclusionTable, resultCache, metrics, fastPathMode, integerEncodingMode);
+					created.add(session);
+					return session;
+				}
+			}
+			session = idle.take();
+		}
+		if (closed) {
+			// closed while waiting; put it back so other waiting borrowers wake up and fail as well
+			idle.offer(session);
+			checkOpen();
+		}
+		return session;
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("Session pool is closed");
+		}
+	}
+
+	public void release(AnalysisSession session) {
+		idle.offer(session);
+	}
+
+	public int getMaxSessions() {
+		return maxSessions;
+	}
+
+	public AnalysisMetrics getMetrics() {
+		return metrics;
+	}
+
+	// sessions created and not closed yet
+	int openSessions() {
+		synchronized (created) {
+			return created.size();
+		}
+	}
+
+	// closed sessions stay queued, a borrower still blocked in take() gets one and fails instead of waiting forever
+	@Override
+	public void close() {
+		synchronized (created) {
+			closed = true;
+			for (AnalysisSession session : created) {
+				session.close();
+			}
+			created.clear();
+		}
+	}
+}
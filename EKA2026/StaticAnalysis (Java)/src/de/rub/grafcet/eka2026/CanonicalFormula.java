@@ -0,0 +1,72 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import terms.Operator;
+import terms.Term;
+import terms.Variable;
+import terms.impl.BooleanConstantImpl;
+import terms.impl.IntegerConstantImpl;
+
+// Canonical text of a transition term: operands of the commutative operators are sorted, so conditions
+// that only differ in operand order get the same key.
+public class CanonicalFormula {
+
+	public static String of(Term term) {
+		if (term instanceof Variable) {
+			return ((Variable) term).getVariableDeclaration().getName();
+		}
+		if (term instanceof BooleanConstantImpl) {
+			return String.valueOf(((BooleanConstantImpl) term).isValue());
+		}
+		if (term instanceof IntegerConstantImpl) {
+			return "#" + ((IntegerConstantImpl) term).getValue();
+		}
+		if (!(term instanceof Operator)) {
+			return "?" + term;
+		}
+
+		List<Term> subterms = ((Operator) term).getSubterm();
+		switch (term.toString()) {
+			case "terms.impl.AndImpl":
+				return "AND" + sortedOperands(subterms);
+			case "terms.impl.OrImpl":
+				return "OR" + sortedOperands(subterms);
+			case "terms.impl.EqualityImpl":
+				return "EQ" + sortedOperands(subterms);
+			case "terms.impl.AdditionImpl":
+				return "ADD" + sortedOperands(subterms);
+			case "terms.impl.NotImpl":
+				return "NOT" + orderedOperands(subterms);
+			case "terms.impl.RisingEdgeImpl":
+				return "RE" + orderedOperands(subterms);
+			case "terms.impl.FallingEdgeImpl":
+				return "FE" + orderedOperands(subterms);
+			case "terms.impl.LessThanImpl":
+				return "LESS" + orderedOperands(subterms);
+			case "terms.impl.GreaterThanImpl":
+				return "GREATER" + orderedOperands(subterms);
+			default:
+				return term.toString() + orderedOperands(subterms);
+		}
+	}
+
+	private static String sortedOperands(List<Term> subterms) {
+		List<String> operands = new ArrayList<>();
+		for (Term subterm : subterms) {
+			operands.add(of(subterm));
+		}
+		Collections.sort(operands);
+		return "[" + String.join(",", operands) + "]";
+	}
+
+	private static String orderedOperands(List<Term> subterms) {
+		List<String> operands = new ArrayList<>();
+		for (Term subterm : subterms) {
+			operands.add(of(subterm));
+		}
+		return "[" + String.join(",", operands) + "]";
+	}
+}
@@ -0,0 +1,38 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.Writer;
+
+// ';' separated like the exclusion tables, one line per finding; fields with ';', quotes or line breaks are
+// quoted the way ExclusionTableReader reads them.
+public class CsvResultSink extends WriterResultSink {
+
+	public CsvResultSink(Writer writer) {
+		super(writer);
+		write("PartialGrafcetName;TransitionID;TransitionReference;TransitionCondition;ExclusionRow;Satisfiability;UnsatCore\n");
+	}
+
+	@Override
+	public void accept(Finding finding) {
+		StringBuilder line = new StringBuilder();
+		line.append(field(finding.getPartialGrafcetName())).append(';');
+		line.append(field(finding.getTransitionId())).append(';');
+		line.append(field(finding.getTransitionReference())).append(';');
+		line.append(field(finding.getCondition())).append(';');
+		line.append(field(finding.getExclusionRow())).append(';');
+		line.append(field(finding.getVerdict().getSatisfiability())).append(';');
+		if (finding.getUnsatCore() != null) {
+			line.append(field(String.join(" | ", finding.getUnsatCore())));
+		}
+		write(line.append('\n').toString());
+	}
+
+	private static String field(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+}
@@ -0,0 +1,260 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import de.hsu.grafcet.Grafcet;
+import de.hsu.grafcet.GrafcetPackage;
+
+// Analyses every .grafcet model below a folder (e.g. Metamodell-Instances/*/plant.grafcet) against every table
+// of a csv folder in one JVM. Each (model, table) pair is one job on a fixed pool with a bounded queue; when the
+// queue is full the submitting thread runs the job itself, so at most queueCapacity jobs wait at any time.
+// A model is loaded and indexed once and released after its last table. A failing job is recorded in the
+// summary and does not affect the others. Z3, the EMF package and the result cache are shared by all jobs.
+public class DirectoryBatchRunner {
+
+	public static class Settings {
+		public int concurrency = Runtime.getRuntime().availableProcessors();
+		public int queueCapacity = 64;
+		public boolean useModelCache = true;
+		// folder with libz3/libz3java, null = the NativeLibraries defaults
+		public String z3BinFolder;
+	}
+
+	public static class JobResult {
+		public String model;
+		public String table;
+		public String status;
+		public String error;
+		public long millis;
+		public int transitions;
+		public int outputRows;
+		public int satisfiable;
+		public int unsatisfiable;
+		public int errors;
+		// "partial Grafcet#transition ID" of every transition with an unsatisfiable row
+		public List<String> unsatisfiableTransitions = new ArrayList<>();
+	}
+
+	private final Settings settings;
+	private final SMT_Solver smtSolver;
+	// the first job of a model loads it, jobs of the same model arriving meanwhile wait for that load
+	private final Map<String, Future<TransitionIndex>> models = new ConcurrentHashMap<>();
+	private final Map<String, AtomicInteger> remainingTables = new ConcurrentHashMap<>();
+
+	public DirectoryBatchRunner(Settings settings, SMT_Solver smtSolver) {
+		this.settings = settings;
+		this.smtSolver = smtSolver;
+		GrafcetPackage.eINSTANCE.eClass();
+		if (settings.z3BinFolder != null) {
+			NativeLibraries.setZ3Folder(settings.z3BinFolder);
+		}
+	}
+
+	// .grafcet files below root in path order, without the binary copies of the model cache
+	public static List<String> listModels(String root) throws IOException {
+		try (Stream<Path> files = Files.walk(Paths.get(root))) {
+			return files.filter(file -> file.getFileName().toString().endsWith(".grafcet"))
+					.filter(file -> !file.toString().contains(".grafcetcache"))
+					.map(Path::toString)
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	// results in the order models x tables, whatever order the jobs finished in
+	public List<JobResult> run(List<String> modelPaths, List<String> csvPaths) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(settings.concurrency, settings.concurrency, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(settings.queueCapacity), new ThreadPoolExecutor.CallerRunsPolicy());
+		List<Future<JobResult>> jobs = new ArrayList<>();
+		try {
+			for (String modelPath : modelPaths) {
+				remainingTables.put(modelPath, new AtomicInteger(csvPaths.size()));
+			}
+			for (String modelPath : modelPaths) {
+				for (String csvPath : csvPaths) {
+					jobs.add(executor.submit(() -> runJob(modelPath, csvPath)));
+				}
+			}
+			List<JobResult> results = new ArrayList<>();
+			for (Future<JobResult> job : jobs) {
+				results.add(job.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Batch run was interrupted", e);
+		} catch (ExecutionException e) {
+			// runJob catches everything itself
+			throw new IllegalStateException("Batch job failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private JobResult runJob(String modelPath, String csvPath) {
+		JobResult result = new JobResult();
+		result.model = modelPath;
+		result.table = csvPath;
+		long start = System.nanoTime();
+		try {
+			TransitionIndex transitionIndex = model(modelPath);
+			ExclusionTable exclusionTable = ExclusionTable.read(csvPath);
+			// only the counts are kept, not the findings
+			grafcetFunctions.staticAnalysisAlgorithm(exclusionTable, transitionIndex, smtSolver, finding -> summarize(finding, result));
+			result.transitions = transitionIndex.getTransitions().size();
+			result.status = "ok";
+		} catch (ExecutionException e) {
+			result.status = "failed";
+			result.error = e.getCause().toString();
+		} catch (Throwable e) {
+			// also linkage errors and stack overflows of a single model, the other jobs go on
+			result.status = "failed";
+			result.error = e.toString();
+		} finally {
+			if (remainingTables.get(modelPath).decrementAndGet() == 0) {
+				models.remove(modelPath);
+			}
+			result.millis = (System.nanoTime() - start) / 1000000;
+		}
+		return result;
+	}
+
+	// a model that fails to load fails all of its jobs with the same error
+	private TransitionIndex model(String modelPath) throws InterruptedException, ExecutionException {
+		FutureTask<TransitionIndex> load = new FutureTask<>(() -> {
+			Grafcet grafcet = settings.useModelCache ? GrafcetModelCache.load(modelPath) : grafcetFunctions.loadGrafcet(modelPath);
+			if (grafcet == null) {
+				throw new IllegalStateException("Could not load " + modelPath);
+			}
+			return TransitionIndex.build(grafcet, smtSolver.getMetrics());
+		});
+		Future<TransitionIndex> model = models.putIfAbsent(modelPath, load);
+		if (model == null) {
+			load.run();
+			model = load;
+		}
+		return model.get();
+	}
+
+	private static void summarize(Finding finding, JobResult result) {
+		result.outputRows++;
+		if (finding.getVerdict() == Finding.Verdict.ERROR) {
+			result.errors++;
+		} else if (finding.getVerdict() == Finding.Verdict.SATISFIABLE) {
+			result.satisfiable++;
+		} else {
+			result.unsatisfiable++;
+			String transition = finding.getPartialGrafcetName() + "#" + finding.getTransitionId();
+			if (!result.unsatisfiableTransitions.contains(transition)) {
+				result.unsatisfiableTransitions.add(transition);
+			}
+		}
+	}
+
+	public static void writeSummary(List<JobResult> results, String jsonPath) {
+		int failed = 0;
+		for (JobResult result : results) {
+			if (!"ok".equals(result.status)) {
+				failed++;
+			}
+		}
+		StringBuilder json = new StringBuilder();
+		json.append("{\n  \"jobs\": ").append(results.size()).append(",\n  \"failed\": ").append(failed).append(",\n  \"results\": [");
+		for (int i = 0; i < results.size(); i++) {
+			JobResult result = results.get(i);
+			json.append(i == 0 ? "\n" : ",\n").append("    {");
+			json.append("\"model\": ").append(quote(result.model));
+			json.append(", \"table\": ").append(quote(result.table));
+			json.append(", \"status\": ").append(quote(result.status));
+			if (result.error != null) {
+				json.append(", \"error\": ").append(quote(result.error));
+			}
+			json.append(", \"millis\": ").append(result.millis);
+			json.append(", \"transitions\": ").append(result.transitions);
+			json.append(", \"outputRows\": ").append(result.outputRows);
+			json.append(", \"satisfiable\": ").append(result.satisfiable);
+			json.append(", \"unsatisfiable\": ").append(result.unsatisfiable);
+			json.append(", \"errors\": ").append(result.errors);
+			json.append(", \"unsatisfiableTransitions\": [");
+			json.append(result.unsatisfiableTransitions.stream().map(DirectoryBatchRunner::quote).collect(Collectors.joining(", ")));
+			json.append("]}");
+		}
+		json.append("\n  ]\n}\n");
+		try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(jsonPath), StandardCharsets.UTF_8)) {
+			writer.write(json.toString());
+			System.out.println("Saved batch summary to: " + jsonPath);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	static String quote(String text) {
+		StringBuilder quoted = new StringBuilder("\"");
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '"':
+					quoted.append("\\\"");
+					break;
+				case '\\':
+					quoted.append("\\\\");
+					break;
+				case '\n':
+					quoted.append("\\n");
+					break;
+				case '\r':
+					quoted.append("\\r");
+					break;
+				case '\t':
+					quoted.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						quoted.append(String.format("\\u%04x", (int) c));
+					} else {
+						quoted.append(c);
+					}
+			}
+		}
+		return quoted.append('"').toString();
+	}
+
+	// args: modelsRoot csvFolder summary.json [concurrency] [queueCapacity] [z3BinFolder]
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.out.println("Usage: DirectoryBatchRunner modelsRoot csvFolder summary.json [concurrency] [queueCapacity] [z3BinFolder]");
+			return;
+		}
+		Settings settings = new Settings();
+		if (args.length > 3) settings.concurrency = java.lang.Integer.parseInt(args[3]);
+		if (args.length > 4) settings.queueCapacity = java.lang.Integer.parseInt(args[4]);
+		if (args.length > 5) settings.z3BinFolder = args[5];
+
+		List<String> modelPaths = listModels(args[0]);
+		List<String> csvPaths = MultiTableAnalysis.listTables(args[1]);
+		System.out.println("Analysing " + modelPaths.size() + " models x " + csvPaths.size() + " tables");
+		SMT_Solver smtSolver = new SMT_Solver();
+		List<JobResult> results = new DirectoryBatchRunner(settings, smtSolver).run(modelPaths, csvPaths);
+		writeSummary(results, args[2]);
+		System.out.println(smtSolver.getResultCache());
+		System.out.println(smtSolver.getMetrics().getReport());
+	}
+}
@@ -0,0 +1,392 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import terms.Operator;
+import terms.Term;
+import terms.Variable;
+
+// An exclusion table is a 2-CNF: every row NOT(a AND b) is the clause (NOT a OR NOT b), i.e. the implications
+// a -> NOT b and b -> NOT a. The graph over the literals is compiled once per table: strongly connected
+// components (Tarjan) show whether the table contradicts itself, and the transitive closure over the components
+// answers reachability in constant time.
+// For a consistent table a conjunction of literals L is unsatisfiable exactly when some l1 in L implies NOT l2 for
+// some l2 in L (l1 = l2 included), so conjunctive transition conditions are decided without a solver.
+public class ExclusionImplicationGraph {
+	// above this many components queries search the graph instead of keeping a closure of components^2 bits
+	private static final int CLOSURE_LIMIT = 8192;
+	// without a closure, contradictions beyond this many are reported without the rows behind them
+	private static final int MAX_DESCRIBED_CONTRADICTIONS = 20;
+
+	private final ExclusionTable exclusionTable;
+	private final int variableCount;
+	// per literal: implied literals and the rows they come from
+	private final int[][] targets;
+	private final int[][] rows;
+	private final int[] component;
+	private final int componentCount;
+	private final BitSet[] closure;
+	private final boolean consistent;
+	private List<String> findings;
+
+	private ExclusionImplicationGraph(ExclusionTable exclusionTable, int closureLimit) {
+		this.exclusionTable = exclusionTable;
+		this.variableCount = exclusionTable.getVariables().size();
+		int literals = 2 * variableCount;
+
+		int[] degree = new int[literals];
+		for (int row = 0; row < exclusionTable.size(); row++) {
+			degree[literal(exclusionTable.var1Id(row), exclusionTable.isVar1Negated(row))]++;
+			degree[literal(exclusionTable.var2Id(row), exclusionTable.isVar2Negated(row))]++;
+		}
+		targets = new int[literals][];
+		rows = new int[literals][];
+		for (int l = 0; l < literals; l++) {
+			targets[l] = new int[degree[l]];
+			rows[l] = new int[degree[l]];
+		}
+		Arrays.fill(degree, 0);
+		for (int row = 0; row < exclusionTable.size(); row++) {
+			int a = literal(exclusionTable.var1Id(row), exclusionTable.isVar1Negated(row));
+			int b = literal(exclusionTable.var2Id(row), exclusionTable.isVar2Negated(row));
+			targets[a][degree[a]] = negate(b);
+			rows[a][degree[a]++] = row;
+			targets[b][degree[b]] = negate(a);
+			rows[b][degree[b]++] = row;
+		}
+
+		component = new int[literals];
+		componentCount = stronglyConnectedComponents();
+		boolean contradiction = false;
+		for (int v = 0; v < variableCount && !contradiction; v++) {
+			contradiction = component[literal(v, false)] == component[literal(v, true)];
+		}
+		consistent = !contradiction;
+		closure = componentCount <= closureLimit ? componentClosure() : null;
+	}
+
+	public static ExclusionImplicationGraph build(ExclusionTable exclusionTable) {
+		return build(exclusionTable, CLOSURE_LIMIT);
+	}
+
+	// closureLimit 0 searches the graph for every query, for tests of small tables
+	static ExclusionImplicationGraph build(ExclusionTable exclusionTable, int closureLimit) {
+		return new ExclusionImplicationGraph(exclusionTable, closureLimit);
+	}
+
+	static int literal(int variable, boolean negated) {
+		return 2 * variable + (negated ? 1 : 0);
+	}
+
+	static int negate(int literal) {
+		return literal ^ 1;
+	}
+
+	// false if the rows alone are unsatisfiable: some variable implies its own negation and vice versa
+	public boolean isConsistent() {
+		return consistent;
+	}
+
+	public boolean implies(int from, int to) {
+		if (from == to) {
+			return true;
+		}
+		if (closure != null) {
+			return closure[component[from]].get(component[to]);
+		}
+		return path(from, to, null) != null;
+	}
+
+	// Tarjan without recursion; components are numbered in the order they are completed, so every edge
+	// between two components points to a lower number
+	private int stronglyConnectedComponents() {
+		int literals = component.length;
+		int[] index = new int[literals];
+		int[] lowLink = new int[literals];
+		boolean[] onStack = new boolean[literals];
+		int[] stack = new int[literals];
+		int stackSize = 0;
+		int[] callStack = new int[literals];
+		int[] nextEdge = new int[literals];
+		Arrays.fill(index, -1);
+		int counter = 0;
+		int components = 0;
+
+		for (int root = 0; root < literals; root++) {
+			if (index[root] >= 0) {
+				continue;
+			}
+			int depth = 0;
+			callStack[depth++] = root;
+			index[root] = lowLink[root] = counter++;
+			stack[stackSize++] = root;
+			onStack[root] = true;
+			while (depth > 0) {
+				int node = callStack[depth - 1];
+				if (nextEdge[node] < targets[node].length) {
+					int next = targets[node][nextEdge[node]++];
+					if (index[next] < 0) {
+						index[next] = lowLink[next] = counter++;
+						stack[stackSize++] = next;
+						onStack[next] = true;
+						callStack[depth++] = next;
+					} else if (onStack[next]) {
+						lowLink[node] = Math.min(lowLink[node], index[next]);
+					}
+					continue;
+				}
+				depth--;
+				if (depth > 0) {
+					int parent = callStack[depth - 1];
+					lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+				}
+				if (lowLink[node] == index[node]) {
+					int member;
+					do {
+						member = stack[--stackSize];
+						onStack[member] = false;
+						component[member] = components;
+					} while (member != node);
+					components++;
+				}
+			}
+		}
+		return components;
+	}
+
+	private BitSet[] componentClosure() {
+		List<List<Integer>> members = new ArrayList<>();
+		for (int c = 0; c < componentCount; c++) {
+			members.add(new ArrayList<>());
+		}
+		for (int l = 0; l < component.length; l++) {
+			members.get(component[l]).add(l);
+		}
+		BitSet[] reachable = new BitSet[componentCount];
+		for (int c = 0; c < componentCount; c++) {
+			reachable[c] = new BitSet(componentCount);
+			reachable[c].set(c);
+			for (int l : members.get(c)) {
+				for (int target : targets[l]) {
+					if (component[target] != c) {
+						reachable[c].or(reachable[component[target]]);
+					}
+				}
+			}
+		}
+		return reachable;
+	}
+
+	// rows along a shortest path from -> to over the enabled rows (all if null), null if there is none
+	private List<Integer> path(int from, int to, boolean[] enabledRows) {
+		if (from == to) {
+			return new ArrayList<>();
+		}
+		int[] parentRow = new int[component.length];
+		int[] parent = new int[component.length];
+		Arrays.fill(parent, -1);
+		parent[from] = from;
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		queue.add(from);
+		while (!queue.isEmpty()) {
+			int node = queue.poll();
+			for (int e = 0; e < targets[node].length; e++) {
+				int next = targets[node][e];
+				if (parent[next] >= 0 || (enabledRows != null && !enabledRows[rows[node][e]])) {
+					continue;
+				}
+				parent[next] = node;
+				parentRow[next] = rows[node][e];
+				if (next == to) {
+					List<Integer> path = new ArrayList<>();
+					for (int l = to; l != from; l = parent[l]) {
+						path.add(0, parentRow[l]);
+					}
+					return path;
+				}
+				queue.add(next);
+			}
+		}
+		return null;
+	}
+
+	// cheap without a closure, where only a contradictory table has findings
+	public boolean hasFindings() {
+		return closure == null ? !consistent : !getFindings().isEmpty();
+	}
+
+	// Contradictions and variables the table forces to a constant, each with the rows that cause it.
+	// Forced variables are only searched with the closure: without it that takes two searches of the whole graph
+	// per variable. Contradictions are then found from the components alone, and only the first
+	// MAX_DESCRIBED_CONTRADICTIONS are traced back to their rows.
+	public synchronized List<String> getFindings() {
+		if (findings != null) {
+			return findings;
+		}
+		findings = new ArrayList<>();
+		int described = 0;
+		for (int v = 0; v < variableCount; v++) {
+			int positive = literal(v, false);
+			int negative = literal(v, true);
+			String name = exclusionTable.variableName(v);
+			if (closure == null) {
+				if (component[positive] == component[negative]) {
+					findings.add(described++ < MAX_DESCRIBED_CONTRADICTIONS ? contradiction(name, positive, negative)
+							: "Contradiction: " + name + " implies NOT[" + name + "] and NOT[" + name + "] implies " + name);
+				}
+				continue;
+			}
+			boolean forcedFalse = implies(positive, negative);
+			boolean forcedTrue = implies(negative, positive);
+			if (forcedFalse && forcedTrue) {
+				findings.add(contradiction(name, positive, negative));
+			} else if (forcedFalse) {
+				findings.add(name + " is forced false: " + describe(path(positive, negative, null)));
+			} else if (forcedTrue) {
+				findings.add(name + " is forced true: " + describe(path(negative, positive, null)));
+			}
+		}
+		return findings;
+	}
+
+	private String contradiction(String name, int positive, int negative) {
+		return "Contradiction: " + name + " implies NOT[" + name + "] (" + describe(path(positive, negative, null))
+				+ ") and NOT[" + name + "] implies " + name + " (" + describe(path(negative, positive, null)) + ")";
+	}
+
+	public String consistencyReport() {
+		List<String> lines = getFindings();
+		if (lines.isEmpty()) {
+			return closure != null ? "Exclusion table is consistent, no variable is forced"
+					: "Exclusion table is consistent; forced variables were not searched for, " + componentCount
+							+ " components are too many for the closure";
+		}
+		StringBuilder report = new StringBuilder(consistent ? "Exclusion table forces variables:" : "Exclusion table contradicts itself:");
+		for (String line : lines) {
+			report.append(System.lineSeparator()).append("  ").append(line);
+		}
+		return report.toString();
+	}
+
+	private String describe(List<Integer> pathRows) {
+		List<String> described = new ArrayList<>();
+		for (int row : pathRows) {
+			described.add(ExclusionTable.location(exclusionTable.lineNumber(row)) + " " + exclusionTable.describe(row));
+		}
+		return String.join(", ", described);
+	}
+
+	// (nested) AND of variables, negated variables and edges of variables; Boolean variables only
+	public static boolean isConjunctive(Term term) {
+		if (term instanceof Variable) {
+			return PropositionalFastPath.isPropositional(term);
+		}
+		if (!(term instanceof Operator)) {
+			return false;
+		}
+		List<Term> subterms = ((Operator) term).getSubterm();
+		switch (term.toString()) {
+			case "terms.impl.AndImpl":
+				for (Term subterm : subterms) {
+					if (!isConjunctive(subterm)) {
+						return false;
+					}
+				}
+				return true;
+			case "terms.impl.NotImpl":
+			case "terms.impl.RisingEdgeImpl":
+			case "terms.impl.FallingEdgeImpl":
+				return subterms.get(0) instanceof Variable && PropositionalFastPath.isPropositional(subterms.get(0));
+			default:
+				return false;
+		}
+	}
+
+	// only for conjunctive terms and a consistent table
+	public SolverResult check(Term term) {
+		Map<String, Integer> localVariables = new HashMap<>();
+		List<Integer> literals = new ArrayList<>();
+		collectLiterals(term, literals, localVariables);
+
+		if (!conflict(literals, null)) {
+			return new SolverResult(true, null);
+		}
+		boolean[] enabledRows = new boolean[exclusionTable.size()];
+		int[] core = MinimalCore.extract(enabledRows.length, rowSubset -> {
+			Arrays.fill(enabledRows, false);
+			for (int row : rowSubset) {
+				enabledRows[row] = true;
+			}
+			return conflict(literals, enabledRows);
+		});
+		return new SolverResult(false, core);
+	}
+
+	// some literal implies the negation of another one (or its own)
+	private boolean conflict(List<Integer> literals, boolean[] enabledRows) {
+		for (int l1 : literals) {
+			for (int l2 : literals) {
+				int negated = negate(l2);
+				if (l1 == negated) {
+					return true;
+				}
+				if (l1 >= component.length || negated >= component.length) {
+					// variables that no row mentions only conflict with their own negation
+					continue;
+				}
+				boolean reachable = enabledRows == null ? implies(l1, negated) : path(l1, negated, enabledRows) != null;
+				if (reachable) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	// literals of variables outside the table are numbered after the table's literals
+	private void collectLiterals(Term term, List<Integer> literals, Map<String, Integer> localVariables) {
+		if (term instanceof Variable) {
+			literals.add(literal(variableId(name(term, ""), localVariables), false));
+			return;
+		}
+		Term subterm = ((Operator) term).getSubterm().get(0);
+		switch (term.toString()) {
+			case "terms.impl.AndImpl":
+				for (Term operand : ((Operator) term).getSubterm()) {
+					collectLiterals(operand, literals, localVariables);
+				}
+				break;
+			case "terms.impl.NotImpl":
+				literals.add(literal(variableId(name(subterm, ""), localVariables), true));
+				break;
+			case "terms.impl.RisingEdgeImpl":
+				literals.add(literal(variableId(name(subterm, ""), localVariables), false));
+				literals.add(literal(variableId(name(subterm, "_beforeRE"), localVariables), true));
+				break;
+			case "terms.impl.FallingEdgeImpl":
+				literals.add(literal(variableId(name(subterm, "_beforeFE"), localVariables), false));
+				literals.add(literal(variableId(name(subterm, ""), localVariables), true));
+				break;
+			default:
+				throw new IllegalArgumentException("Not a conjunction of literals: " + term);
+		}
+	}
+
+	private static String name(Term variable, String suffix) {
+		return ((Variable) variable).getVariableDeclaration().getName() + suffix;
+	}
+
+	private int variableId(String name, Map<String, Integer> localVariables) {
+		int id = exclusionTable.getVariables().id(name);
+		if (id >= 0) {
+			return id;
+		}
+		return localVariables.computeIfAbsent(name, n -> variableCount + localVariables.size());
+	}
+}
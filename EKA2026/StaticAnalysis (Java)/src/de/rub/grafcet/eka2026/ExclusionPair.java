@@ -0,0 +1,52 @@
+package de.rub.grafcet.eka2026;
+
+// One row of an exclusion table: NOT(AND(var1, var2)), where either side may itself be negated.
+// Names are ids of the owning ExclusionTable's dictionaries. The table stores its rows as columns and creates
+// these views in get(row); the line number is ExclusionTable.UNKNOWN_LINE for rows not read from a file.
+public class ExclusionPair {
+	private final int lineNumber;
+	private final int component;
+	private final int var1;
+	private final boolean var1Negated;
+	private final int var2;
+	private final boolean var2Negated;
+	private final int reason;
+
+	public ExclusionPair(int lineNumber, int component, int var1, boolean var1Negated, int var2, boolean var2Negated, int reason) {
+		this.lineNumber = lineNumber;
+		this.component = component;
+		this.var1 = var1;
+		this.var1Negated = var1Negated;
+		this.var2 = var2;
+		this.var2Negated = var2Negated;
+		this.reason = reason;
+	}
+
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	public int getComponent() {
+		return component;
+	}
+
+	public int getVar1() {
+		return var1;
+	}
+
+	public boolean isVar1Negated() {
+		return var1Negated;
+	}
+
+	public int getVar2() {
+		return var2;
+	}
+
+	public boolean isVar2Negated() {
+		return var2Negated;
+	}
+
+	public int getReason() {
+		return reason;
+	}
+}
@@ -0,0 +1,199 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// Typed, dictionary-encoded exclusion table. Variable names are interned to integer ids, component and reason
+// texts are interned separately. Rows are kept in file order as columns of ints, so a table of millions of rows
+// holds no object per row; get(row) gives an ExclusionPair view for callers that want one.
+public class ExclusionTable {
+	// line number of a row that was not read from a file
+	public static final int UNKNOWN_LINE = -1;
+
+	private final VariableDictionary variables = new VariableDictionary();
+	private final VariableDictionary texts = new VariableDictionary();
+	private int size;
+	private int[] lineNumbers = new int[16];
+	private int[] components = new int[16];
+	// literals: 2 * variable id, + 1 if negated
+	private int[] var1Literals = new int[16];
+	private int[] var2Literals = new int[16];
+	private int[] reasons = new int[16];
+	private final List<String> malformedRows = new ArrayList<>();
+	private long contentHash = 0xcbf29ce484222325L;
+	private ExclusionImplicationGraph implicationGraph;
+
+	public static ExclusionTable read(String path) {
+		return ExclusionTableReader.read(path);
+	}
+
+	// adapter for tables read with ProcessCSVFile; it keeps no line numbers (and drops empty lines), so the rows
+	// have none either
+	public static ExclusionTable fromRows(List<Map<String, String>> csvExclusionsFile) {
+		ExclusionTable table = new ExclusionTable();
+		for (Map<String, String> row : csvExclusionsFile) {
+			table.add(UNKNOWN_LINE, row.get("Component"), row.get("Var1"), row.get("Var2"), row.get("Reason"));
+		}
+		return table;
+	}
+
+	// false and reported as malformed when a variable is missing
+	boolean add(int lineNumber, String component, String var1, String var2, String reason) {
+		if (var1 == null || var1.trim().isEmpty() || var2 == null || var2.trim().isEmpty()) {
+			reportMalformed(lineNumber, "missing Var1 or Var2");
+			return false;
+		}
+		String var1Name = stripNegation(var1);
+		String var2Name = stripNegation(var2);
+		if (size == lineNumbers.length) {
+			int capacity = 2 * size;
+			lineNumbers = Arrays.copyOf(lineNumbers, capacity);
+			components = Arrays.copyOf(components, capacity);
+			var1Literals = Arrays.copyOf(var1Literals, capacity);
+			var2Literals = Arrays.copyOf(var2Literals, capacity);
+			reasons = Arrays.copyOf(reasons, capacity);
+		}
+		lineNumbers[size] = lineNumber;
+		components[size] = texts.intern(component == null ? "" : component);
+		var1Literals[size] = 2 * variables.intern(var1Name) + (var1Name.equals(var1.trim()) ? 0 : 1);
+		var2Literals[size] = 2 * variables.intern(var2Name) + (var2Name.equals(var2.trim()) ? 0 : 1);
+		reasons[size] = texts.intern(reason == null ? "" : reason);
+		size++;
+
+		contentHash = fnv(contentHash, component);
+		contentHash = fnv(contentHash, var1.trim());
+		contentHash = fnv(contentHash, var2.trim());
+		contentHash = fnv(contentHash, reason);
+		return true;
+	}
+
+	void reportMalformed(int lineNumber, String problem) {
+		String message = location(lineNumber) + ": " + problem;
+		malformedRows.add(message);
+		System.out.println("Skipping malformed " + message);
+	}
+
+	// "NOT[x]" and "NOT(x)" -> "x"
+	static String stripNegation(String variable) {
+		String name = variable.trim();
+		if ((name.startsWith("NOT[") && name.endsWith("]")) || (name.startsWith("NOT(") && name.endsWith(")"))) {
+			return name.substring(4, name.length() - 1).trim();
+		}
+		return name;
+	}
+
+	// "line 12", or "unknown line" for UNKNOWN_LINE
+	public static String location(int lineNumber) {
+		return lineNumber == UNKNOWN_LINE ? "unknown line" : "line " + lineNumber;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	// a new view of the row; loops over many rows use the accessors by row below
+	public ExclusionPair get(int row) {
+		checkRow(row);
+		return new ExclusionPair(lineNumbers[row], components[row], var1Id(row), isVar1Negated(row),
+				var2Id(row), isVar2Negated(row), reasons[row]);
+	}
+
+	public int lineNumber(int row) {
+		checkRow(row);
+		return lineNumbers[row];
+	}
+
+	public int var1Id(int row) {
+		checkRow(row);
+		return var1Literals[row] >> 1;
+	}
+
+	public boolean isVar1Negated(int row) {
+		checkRow(row);
+		return (var1Literals[row] & 1) != 0;
+	}
+
+	public int var2Id(int row) {
+		checkRow(row);
+		return var2Literals[row] >> 1;
+	}
+
+	public boolean isVar2Negated(int row) {
+		checkRow(row);
+		return (var2Literals[row] & 1) != 0;
+	}
+
+	private void checkRow(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+		}
+	}
+
+	public VariableDictionary getVariables() {
+		return variables;
+	}
+
+	public String variableName(int id) {
+		return variables.name(id);
+	}
+
+	public String component(ExclusionPair pair) {
+		return texts.name(pair.getComponent());
+	}
+
+	public String reason(ExclusionPair pair) {
+		return texts.name(pair.getReason());
+	}
+
+	public String var1(ExclusionPair pair) {
+		return literal(pair.getVar1(), pair.isVar1Negated());
+	}
+
+	public String var2(ExclusionPair pair) {
+		return literal(pair.getVar2(), pair.isVar2Negated());
+	}
+
+	private String literal(int variable, boolean negated) {
+		return negated ? "NOT[" + variables.name(variable) + "]" : variables.name(variable);
+	}
+
+	// Component/Var1/Var2/Reason
+	public String describe(ExclusionPair pair) {
+		return component(pair) + "/" + var1(pair) + "/" + var2(pair) + "/" + reason(pair);
+	}
+
+	public String describe(int row) {
+		return describe(get(row));
+	}
+
+	public List<String> getMalformedRows() {
+		return malformedRows;
+	}
+
+	// order sensitive on purpose: unsat cores are reported as row positions of the table
+	public long contentHash() {
+		return contentHash;
+	}
+
+	// compiled on first use; the table must not change afterwards
+	public synchronized ExclusionImplicationGraph getImplicationGraph() {
+		if (implicationGraph == null) {
+			implicationGraph = ExclusionImplicationGraph.build(this);
+		}
+		return implicationGraph;
+	}
+
+	private static long fnv(long hash, String value) {
+		String text = value == null ? "\u0000null" : value;
+		for (int i = 0; i < text.length(); i++) {
+			hash ^= text.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		// field separator
+		hash ^= 0x1f;
+		hash *= 0x100000001b3L;
+		return hash;
+	}
+}
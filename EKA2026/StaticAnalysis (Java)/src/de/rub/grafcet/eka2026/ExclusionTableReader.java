@@ -0,0 +1,143 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming reader for the ';' separated exclusion tables. Fields may be quoted ("..."), a quoted field may
+// contain ';', line breaks and doubled quotes. Columns are found by header name, malformed rows are reported
+// with their line number instead of being dropped silently.
+public class ExclusionTableReader {
+	private static final char DELIMITER = ';';
+	private static final char QUOTE = '"';
+	private static final int NONE = -2;
+
+	private final Reader reader;
+	private int lineNumber = 1;
+	private int recordLineNumber;
+	private int pending = NONE;
+	private boolean unterminatedQuote;
+
+	private ExclusionTableReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	public static ExclusionTable read(String path) {
+		ExclusionTable table = new ExclusionTable();
+		try (BufferedReader br = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+			read(br, table);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return table;
+	}
+
+	public static void read(Reader source, ExclusionTable table) throws IOException {
+		ExclusionTableReader reader = new ExclusionTableReader(source);
+		List<String> header = reader.nextRecord();
+		if (header == null) {
+			System.out.println("CSV file is empty!");
+			return;
+		}
+		int component = header.indexOf("Component");
+		int var1 = header.indexOf("Var1");
+		int var2 = header.indexOf("Var2");
+		int reason = header.indexOf("Reason");
+		if (var1 < 0 || var2 < 0) {
+			table.reportMalformed(1, "header has no Var1/Var2 column");
+			return;
+		}
+
+		List<String> fields;
+		while ((fields = reader.nextRecord()) != null) {
+			if (fields.size() == 1 && fields.get(0).trim().isEmpty()) {
+				continue; // skip empty lines
+			}
+			if (fields.size() != header.size()) {
+				table.reportMalformed(reader.recordLineNumber, "expected " + header.size() + " fields, found " + fields.size());
+				continue;
+			}
+			table.add(reader.recordLineNumber, field(fields, component), fields.get(var1), fields.get(var2), field(fields, reason));
+		}
+		if (reader.unterminatedQuote) {
+			table.reportMalformed(reader.recordLineNumber, "unterminated quoted field");
+		}
+	}
+
+	private static String field(List<String> fields, int index) {
+		return index < 0 ? null : fields.get(index);
+	}
+
+	// null at end of input
+	private List<String> nextRecord() throws IOException {
+		int c = read();
+		if (c == -1) {
+			return null;
+		}
+		recordLineNumber = lineNumber;
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		while (true) {
+			if (quoted) {
+				if (c == -1) {
+					unterminatedQuote = true; // the partial record is dropped
+					return null;
+				}
+				if (c == QUOTE) {
+					int next = read();
+					if (next == QUOTE) {
+						field.append(QUOTE);
+					} else {
+						quoted = false;
+						c = next;
+						continue;
+					}
+				} else {
+					if (c == '\n') {
+						lineNumber++;
+					}
+					field.append((char) c);
+				}
+			} else if (c == QUOTE && field.length() == 0) {
+				quoted = true;
+			} else if (c == DELIMITER) {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else if (c == '\r' || c == '\n' || c == -1) {
+				if (c == '\r') {
+					int next = read();
+					if (next != '\n') {
+						unread(next);
+					}
+				}
+				if (c != -1) {
+					lineNumber++;
+				}
+				fields.add(field.toString());
+				return fields;
+			} else {
+				field.append((char) c);
+			}
+			c = read();
+		}
+	}
+
+	private int read() throws IOException {
+		if (pending != NONE) {
+			int c = pending;
+			pending = NONE;
+			return c;
+		}
+		return reader.read();
+	}
+
+	private void unread(int c) {
+		pending = c;
+	}
+}
@@ -0,0 +1,94 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One output row of the static analysis: a transition that contains both literals of a matched exclusion row,
+// and whether its condition can still hold under the exclusion table. A transition that matches several rows
+// gets one finding per row, with the same verdict.
+public class Finding {
+
+	public enum Verdict {
+		// "AND[x, y]" of two plain variables that a row excludes, reported without asking the solver
+		NOT_SATISFIED("Not Satisfied"),
+		// satisfiable although it contains an excluded pair
+		SATISFIABLE("true - redundantly designed?"),
+		// the transition can never fire, the unsat core names the rows responsible
+		UNSATISFIABLE("false"),
+		ERROR("error");
+
+		private final String satisfiability;
+
+		Verdict(String satisfiability) {
+			this.satisfiability = satisfiability;
+		}
+
+		// the text of the Satisfiability column
+		public String getSatisfiability() {
+			return satisfiability;
+		}
+	}
+
+	private final String partialGrafcetName;
+	private final String transitionId;
+	private final String transitionReference;
+	private final String condition;
+	// Component/Var1/Var2/Reason of the matched row
+	private final String exclusionRow;
+	private final Verdict verdict;
+	// Component/Var1/Var2/Reason per core row, null unless UNSATISFIABLE
+	private final List<String> unsatCore;
+
+	public Finding(TransitionIndex.IndexedTransition indexedTransition, String exclusionRow, Verdict verdict, List<String> unsatCore) {
+		this.partialGrafcetName = indexedTransition.getPartialGrafcet().getName();
+		this.transitionId = String.valueOf(indexedTransition.getTransition().getId());
+		this.transitionReference = indexedTransition.getReference();
+		this.condition = indexedTransition.getCondition();
+		this.exclusionRow = exclusionRow;
+		this.verdict = verdict;
+		this.unsatCore = unsatCore;
+	}
+
+	public String getPartialGrafcetName() {
+		return partialGrafcetName;
+	}
+
+	public String getTransitionId() {
+		return transitionId;
+	}
+
+	public String getTransitionReference() {
+		return transitionReference;
+	}
+
+	public String getCondition() {
+		return condition;
+	}
+
+	public String getExclusionRow() {
+		return exclusionRow;
+	}
+
+	public Verdict getVerdict() {
+		return verdict;
+	}
+
+	public List<String> getUnsatCore() {
+		return unsatCore;
+	}
+
+	// the row of the former outputTable, as printOutputTable and the comparison matrix read it
+	public Map<String, String> toRow() {
+		Map<String, String> row = new HashMap<>();
+		row.put("PartialGrafcetName", partialGrafcetName);
+		row.put("TransitionID", transitionId);
+		row.put("TransitionCondition", condition);
+		row.put("ExclusionRow", exclusionRow);
+		row.put("Satisfiability", verdict.getSatisfiability());
+		if (unsatCore != null) {
+			row.put("UnsatCore", String.valueOf(unsatCore));
+		}
+		return row;
+	}
+}
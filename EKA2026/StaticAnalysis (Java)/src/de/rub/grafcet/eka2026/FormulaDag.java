@@ -0,0 +1,281 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import terms.Operator;
+import terms.Term;
+import terms.Variable;
+import terms.impl.BooleanConstantImpl;
+import terms.impl.IntegerConstantImpl;
+
+// Hash-consed formula graph of transition conditions: structurally equal subformulas are one node, so a
+// subterm shared by several transitions or used twice by an edge is converted and compiled once.
+// An edge is x AND NOT x_before, where x_before is the same subterm with "_beforeRE" / "_beforeFE" appended to
+// its variables; it is built once per (term, suffix) and referenced, so nested edges no longer double the
+// formula at every level. Integer comparisons with a constant are encoded as the IntegerEncoding chooses
+// (bits of a Boolean variable per bit, a bit-vector, or Z3 integers). Nodes are only ever added; a session
+// clears the graph when it gets large.
+public class FormulaDag {
+
+	public enum Kind {
+		VARIABLE, TRUE, FALSE, INTEGER, NOT, AND, OR, IFF, EQUAL, LESS, GREATER, ADD,
+		// label is the name, the child the width; BV_LESS / BV_EQUAL compare it unsigned with an INTEGER child
+		BIT_VECTOR, BV_LESS, BV_EQUAL
+	}
+
+	public static final class Node {
+		private final int id;
+		private final Kind kind;
+		// variable name or integer constant
+		private final String label;
+		private final Node[] children;
+
+		private Node(int id, Kind kind, String label, Node[] children) {
+			this.id = id;
+			this.kind = kind;
+			this.label = label;
+			this.children = children;
+		}
+
+		// dense, in creation order: children always have smaller ids than their parents
+		public int getId() {
+			return id;
+		}
+
+		public Kind getKind() {
+			return kind;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+
+		public Node[] getChildren() {
+			return children;
+		}
+	}
+
+	private static final Node[] NO_CHILDREN = new Node[0];
+
+	private final List<Node> nodes = new ArrayList<>();
+	// kind, label and child ids -> node
+	private final Map<String, Node> unique = new HashMap<>();
+	// edge suffix -> model term -> node; EMF terms are compared by identity
+	private final Map<String, Map<Term, Node>> converted = new HashMap<>();
+	// the encoding the converted terms were built with, null = Z3 integers
+	private IntegerEncoding integerEncoding;
+
+	public Node node(Term term) {
+		return node(term, (IntegerEncoding) null);
+	}
+
+	public Node node(Term term, IntegerEncoding integerEncoding) {
+		if (integerEncoding != this.integerEncoding) {
+			// same terms, other ranges (another model): convert again, the nodes themselves stay valid
+			converted.clear();
+			this.integerEncoding = integerEncoding;
+		}
+		return node(term, "");
+	}
+
+	public int size() {
+		return nodes.size();
+	}
+
+	public void clear() {
+		nodes.clear();
+		unique.clear();
+		converted.clear();
+		integerEncoding = null;
+	}
+
+	private Node node(Term term, String suffix) {
+		Map<Term, Node> memo = converted.computeIfAbsent(suffix, s -> new IdentityHashMap<>());
+		Node node = memo.get(term);
+		if (node == null) {
+			node = convert(term, suffix);
+			memo.put(term, node);
+		}
+		return node;
+	}
+
+	private Node convert(Term term, String suffix) {
+		if (term instanceof Variable) {
+			// Boolean or integer by position, as in the Z3 compiler
+			return intern(Kind.VARIABLE, ((Variable) term).getVariableDeclaration().getName() + suffix, NO_CHILDREN);
+		}
+		if (term instanceof BooleanConstantImpl) {
+			return constant(((BooleanConstantImpl) term).isValue());
+		}
+		if (term instanceof IntegerConstantImpl) {
+			return intern(Kind.INTEGER, String.valueOf(((IntegerConstantImpl) term).getValue()), NO_CHILDREN);
+		}
+		if (!(term instanceof Operator)) {
+			throw new IllegalArgumentException("Unsupported term: " + term);
+		}
+
+		List<Term> subterms = ((Operator) term).getSubterm();
+		switch (term.toString()) {
+			case "terms.impl.NotImpl":
+				return not(node(subterms.get(0), suffix));
+			case "terms.impl.AndImpl":
+				return intern(Kind.AND, null, nodes(subterms, suffix));
+			case "terms.impl.OrImpl":
+				return intern(Kind.OR, null, nodes(subterms, suffix));
+			case "terms.impl.RisingEdgeImpl":
+				return intern(Kind.AND, null, new Node[] {node(subterms.get(0), suffix), not(node(subterms.get(0), suffix + "_beforeRE"))});
+			case "terms.impl.FallingEdgeImpl":
+				return intern(Kind.AND, null, new Node[] {node(subterms.get(0), suffix + "_beforeFE"), not(node(subterms.get(0), suffix))});
+			case "terms.impl.EqualityImpl": {
+				Node bounded = boundedComparison(term.toString(), subterms, suffix);
+				if (bounded != null) {
+					return bounded;
+				}
+				boolean integer = isInteger(subterms.get(0)) || isInteger(subterms.get(1));
+				return intern(integer ? Kind.EQUAL : Kind.IFF, null, nodes(subterms, suffix));
+			}
+			case "terms.impl.LessThanImpl":
+			case "terms.impl.GreaterThanImpl": {
+				Node bounded = boundedComparison(term.toString(), subterms, suffix);
+				if (bounded != null) {
+					return bounded;
+				}
+				return intern(term.toString().equals("terms.impl.LessThanImpl") ? Kind.LESS : Kind.GREATER, null, nodes(subterms, suffix));
+			}
+			case "terms.impl.AdditionImpl":
+				return intern(Kind.ADD, null, nodes(subterms, suffix));
+			default:
+				throw new IllegalArgumentException("Unsupported term: " + term);
+		}
+	}
+
+	// x < c, x > c or x = c (either operand order) of a variable with a range; null if it stays in Z3 integers
+	private Node boundedComparison(String operator, List<Term> subterms, String suffix) {
+		Variable variable = IntegerEncoding.comparedVariable(subterms);
+		if (variable == null || integerEncoding == null) {
+			return null;
+		}
+		String declarationName = variable.getVariableDeclaration().getName();
+		IntegerEncoding.Mode encoding = integerEncoding.encodingOf(declarationName);
+		if (encoding == IntegerEncoding.Mode.LIA) {
+			return null;
+		}
+		String name = declarationName + suffix;
+		int width = integerEncoding.width(declarationName);
+		// the value is encoded as offset from low, unsigned
+		long offset = IntegerEncoding.comparedConstant(subterms) - integerEncoding.low(declarationName);
+		boolean variableLeft = subterms.get(0) == variable;
+		boolean bitBlast = encoding == IntegerEncoding.Mode.BIT_BLAST;
+		switch (operator) {
+			case "terms.impl.EqualityImpl":
+				return bitBlast ? bitsEqual(name, width, offset) : bitVectorEqual(name, width, offset);
+			case "terms.impl.LessThanImpl":
+				// x < c, or c < x = NOT x < c + 1
+				return variableLeft ? lessThan(name, width, offset, bitBlast) : not(lessThan(name, width, offset + 1, bitBlast));
+			default:
+				// x > c = NOT x < c + 1, or c > x
+				return variableLeft ? not(lessThan(name, width, offset + 1, bitBlast)) : lessThan(name, width, offset, bitBlast);
+		}
+	}
+
+	private Node lessThan(String name, int width, long bound, boolean bitBlast) {
+		if (bound <= 0) {
+			return constant(false);
+		}
+		if (bound >= 1L << width) {
+			return constant(true);
+		}
+		if (!bitBlast) {
+			return intern(Kind.BV_LESS, null, new Node[] {bitVector(name, width), integer(bound)});
+		}
+		// from the lowest bit up: below bit i the value is less if bit i is 0 where the bound has 1,
+		// or both agree and the lower bits are less
+		Node less = null;
+		for (int i = 0; i < width; i++) {
+			Node notBit = not(bit(name, i));
+			if (((bound >> i) & 1) == 1) {
+				less = less == null ? notBit : intern(Kind.OR, null, new Node[] {notBit, less});
+			} else if (less != null) {
+				less = intern(Kind.AND, null, new Node[] {notBit, less});
+			}
+		}
+		return less;
+	}
+
+	// AND[bit1x, NOT[bit2x], ...] as in TransitionExpressionExtractor.getEqualCases
+	private Node bitsEqual(String name, int width, long value) {
+		if (value < 0 || value >= 1L << width) {
+			return constant(false);
+		}
+		Node[] bits = new Node[width];
+		for (int i = 0; i < width; i++) {
+			bits[i] = ((value >> i) & 1) == 1 ? bit(name, i) : not(bit(name, i));
+		}
+		return intern(Kind.AND, null, bits);
+	}
+
+	private Node bitVectorEqual(String name, int width, long value) {
+		if (value < 0 || value >= 1L << width) {
+			return constant(false);
+		}
+		return intern(Kind.BV_EQUAL, null, new Node[] {bitVector(name, width), integer(value)});
+	}
+
+	private Node bit(String name, int i) {
+		return intern(Kind.VARIABLE, "bit" + (i + 1) + name, NO_CHILDREN);
+	}
+
+	private Node bitVector(String name, int width) {
+		return intern(Kind.BIT_VECTOR, name, new Node[] {integer(width)});
+	}
+
+	Node integer(long value) {
+		return intern(Kind.INTEGER, String.valueOf(value), NO_CHILDREN);
+	}
+
+	Node constant(boolean value) {
+		return intern(value ? Kind.TRUE : Kind.FALSE, null, NO_CHILDREN);
+	}
+
+	private Node[] nodes(List<Term> subterms, String suffix) {
+		Node[] children = new Node[subterms.size()];
+		for (int i = 0; i < children.length; i++) {
+			children[i] = node(subterms.get(i), suffix);
+		}
+		return children;
+	}
+
+	Node not(Node child) {
+		return intern(Kind.NOT, null, new Node[] {child});
+	}
+
+	// also used by the FormulaNormalizer for the simplified nodes
+	Node intern(Kind kind, String label, Node[] children) {
+		StringBuilder key = new StringBuilder(kind.name());
+		if (label != null) {
+			key.append(' ').append(label);
+		}
+		for (Node child : children) {
+			key.append(' ').append(child.id);
+		}
+		return unique.computeIfAbsent(key.toString(), k -> {
+			Node node = new Node(nodes.size(), kind, label, children);
+			nodes.add(node);
+			return node;
+		});
+	}
+
+	private static boolean isInteger(Term term) {
+		if (term instanceof IntegerConstantImpl) {
+			return true;
+		}
+		if (term instanceof Variable) {
+			return ((Variable) term).getVariableDeclaration().getSort() instanceof terms.Integer;
+		}
+		return term instanceof Operator && term.toString().equals("terms.impl.AdditionImpl");
+	}
+}
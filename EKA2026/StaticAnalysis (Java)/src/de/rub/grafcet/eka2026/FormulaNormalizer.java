@@ -0,0 +1,172 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Simplifies FormulaDag nodes before they reach a solver, the result is an equivalent node of the same graph:
+//   flattening     AND[a, AND[b, c]] = AND[a, b, c], AND[a] = a, NOT[NOT[a]] = a
+//   folding        TRUE / FALSE in AND, OR, NOT and IFF (EQ[x, true] = x), comparisons and sums of constants
+//   deduplication  operands in id order, each once (both halves of an edge often share an operand)
+//   contradiction  AND[a, NOT[a]] = FALSE, OR[a, NOT[a]] = TRUE, IFF[a, NOT[a]] = FALSE
+//   absorption     AND[a, OR[a, b]] = a, OR[a, AND[a, b]] = a
+// A condition that folds to TRUE or FALSE is settled without any solver. Results are kept per node, so a
+// subformula shared by many conditions is simplified once; clear together with the graph.
+public class FormulaNormalizer {
+	private final FormulaDag formulaDag;
+	// node -> normalized node; normalized nodes map to themselves
+	private final Map<FormulaDag.Node, FormulaDag.Node> normalized = new IdentityHashMap<>();
+
+	public FormulaNormalizer(FormulaDag formulaDag) {
+		this.formulaDag = formulaDag;
+	}
+
+	public FormulaDag.Node normalize(FormulaDag.Node node) {
+		FormulaDag.Node result = normalized.get(node);
+		if (result == null) {
+			result = simplify(node);
+			normalized.put(node, result);
+			normalized.putIfAbsent(result, result);
+		}
+		return result;
+	}
+
+	public void clear() {
+		normalized.clear();
+	}
+
+	private FormulaDag.Node simplify(FormulaDag.Node node) {
+		FormulaDag.Node[] children = node.getChildren();
+		switch (node.getKind()) {
+			case NOT: {
+				FormulaDag.Node child = normalize(children[0]);
+				if (child.getKind() == FormulaDag.Kind.TRUE || child.getKind() == FormulaDag.Kind.FALSE) {
+					return formulaDag.constant(child.getKind() == FormulaDag.Kind.FALSE);
+				}
+				if (child.getKind() == FormulaDag.Kind.NOT) {
+					return child.getChildren()[0];
+				}
+				return formulaDag.not(child);
+			}
+			case AND:
+			case OR:
+				return junction(node.getKind(), children);
+			case IFF:
+				return equivalence(normalize(children[0]), normalize(children[1]));
+			case EQUAL:
+			case LESS:
+			case GREATER:
+				return comparison(node.getKind(), normalize(children[0]), normalize(children[1]));
+			case ADD:
+				return sum(children);
+			default:
+				// variables, constants, bit-vectors and their comparisons are folded when they are built
+				return node;
+		}
+	}
+
+	private FormulaDag.Node junction(FormulaDag.Kind kind, FormulaDag.Node[] children) {
+		boolean and = kind == FormulaDag.Kind.AND;
+		FormulaDag.Kind dual = and ? FormulaDag.Kind.OR : FormulaDag.Kind.AND;
+		// by id: deduplicated, and equal operand sets give the same node
+		TreeMap<Integer, FormulaDag.Node> operands = new TreeMap<>();
+		for (FormulaDag.Node child : children) {
+			FormulaDag.Node operand = normalize(child);
+			if (operand.getKind() == (and ? FormulaDag.Kind.FALSE : FormulaDag.Kind.TRUE)) {
+				return operand;
+			}
+			if (operand.getKind() == (and ? FormulaDag.Kind.TRUE : FormulaDag.Kind.FALSE)) {
+				continue;
+			}
+			if (operand.getKind() == kind) {
+				for (FormulaDag.Node nested : operand.getChildren()) {
+					operands.put(nested.getId(), nested);
+				}
+			} else {
+				operands.put(operand.getId(), operand);
+			}
+		}
+		for (FormulaDag.Node operand : operands.values()) {
+			if (operand.getKind() == FormulaDag.Kind.NOT && operands.containsKey(operand.getChildren()[0].getId())) {
+				return formulaDag.constant(!and);
+			}
+		}
+		// operands of a dual operand are never dual themselves (flattened), so removing one does not change the others
+		operands.values().removeIf(operand -> operand.getKind() == dual && containsAny(operands, operand.getChildren()));
+		if (operands.isEmpty()) {
+			return formulaDag.constant(and);
+		}
+		if (operands.size() == 1) {
+			return operands.firstEntry().getValue();
+		}
+		return formulaDag.intern(kind, null, operands.values().toArray(new FormulaDag.Node[0]));
+	}
+
+	private static boolean containsAny(TreeMap<Integer, FormulaDag.Node> operands, FormulaDag.Node[] nodes) {
+		for (FormulaDag.Node node : nodes) {
+			if (operands.containsKey(node.getId())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private FormulaDag.Node equivalence(FormulaDag.Node left, FormulaDag.Node right) {
+		if (left == right) {
+			return formulaDag.constant(true);
+		}
+		if (isNegationOf(left, right) || isNegationOf(right, left)) {
+			return formulaDag.constant(false);
+		}
+		if (left.getKind() == FormulaDag.Kind.TRUE || left.getKind() == FormulaDag.Kind.FALSE) {
+			FormulaDag.Node swap = left;
+			left = right;
+			right = swap;
+		}
+		if (right.getKind() == FormulaDag.Kind.TRUE) {
+			return left;
+		}
+		if (right.getKind() == FormulaDag.Kind.FALSE) {
+			return normalize(formulaDag.not(left));
+		}
+		return left.getId() < right.getId() ? formulaDag.intern(FormulaDag.Kind.IFF, null, new FormulaDag.Node[] {left, right})
+				: formulaDag.intern(FormulaDag.Kind.IFF, null, new FormulaDag.Node[] {right, left});
+	}
+
+	private static boolean isNegationOf(FormulaDag.Node negation, FormulaDag.Node node) {
+		return negation.getKind() == FormulaDag.Kind.NOT && negation.getChildren()[0] == node;
+	}
+
+	private FormulaDag.Node comparison(FormulaDag.Kind kind, FormulaDag.Node left, FormulaDag.Node right) {
+		if (left.getKind() == FormulaDag.Kind.INTEGER && right.getKind() == FormulaDag.Kind.INTEGER) {
+			int order = Long.compare(Long.parseLong(left.getLabel()), Long.parseLong(right.getLabel()));
+			return formulaDag.constant(kind == FormulaDag.Kind.EQUAL ? order == 0 : kind == FormulaDag.Kind.LESS ? order < 0 : order > 0);
+		}
+		if (left == right) {
+			return formulaDag.constant(kind == FormulaDag.Kind.EQUAL);
+		}
+		return formulaDag.intern(kind, null, new FormulaDag.Node[] {left, right});
+	}
+
+	private FormulaDag.Node sum(FormulaDag.Node[] children) {
+		FormulaDag.Node[] operands = new FormulaDag.Node[children.length];
+		boolean constant = true;
+		for (int i = 0; i < children.length; i++) {
+			operands[i] = normalize(children[i]);
+			constant &= operands[i].getKind() == FormulaDag.Kind.INTEGER;
+		}
+		if (constant) {
+			try {
+				long value = 0;
+				for (FormulaDag.Node operand : operands) {
+					value = Math.addExact(value, Long.parseLong(operand.getLabel()));
+				}
+				return formulaDag.integer(value);
+			}
+			catch (ArithmeticException e) {
+				// beyond long, Z3 integers are unbounded
+			}
+		}
+		return formulaDag.intern(FormulaDag.Kind.ADD, null, operands);
+	}
+}
@@ -0,0 +1,135 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+
+import de.hsu.grafcet.Grafcet;
+
+// Binary copy of a .grafcet model in a .grafcetcache folder next to the model, keyed by the SHA-256 of the XMI file.
+// A warm start reads the EMF binary resource and skips XML parsing; any edit of the model gives a new key,
+// so an outdated copy is never used and is deleted when the new one is written.
+public class GrafcetModelCache {
+	private static final String CACHE_FOLDER = ".grafcetcache";
+	private static final String EXTENSION = ".grafcetbin";
+
+	public static Grafcet load(String filePath) {
+		Path source = Paths.get(filePath);
+		String contentHash;
+		try {
+			contentHash = sha256(source);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+
+		Path cacheFile = cacheFile(source, contentHash);
+		if (Files.isRegularFile(cacheFile)) {
+			Grafcet cached = loadBinary(cacheFile);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		Grafcet grafcet = grafcetFunctions.loadGrafcet(filePath);
+		if (grafcet != null) {
+			store(grafcet, source, cacheFile);
+		}
+		return grafcet;
+	}
+
+	static Path cacheFile(Path source, String contentHash) {
+		Path folder = source.toAbsolutePath().getParent().resolve(CACHE_FOLDER);
+		return folder.resolve(source.getFileName() + "." + contentHash + EXTENSION);
+	}
+
+	private static Grafcet loadBinary(Path cacheFile) {
+		long start = System.nanoTime();
+		ResourceSet resourceSet = new ResourceSetImpl();
+		Resource resource = new BinaryResourceImpl(URI.createFileURI(cacheFile.toString()));
+		resourceSet.getResources().add(resource);
+		try (InputStream in = Files.newInputStream(cacheFile)) {
+			resource.load(in, null);
+			return (Grafcet) resource.getContents().get(0);
+		} catch (Exception e) {
+			// unreadable copy (e.g. written by an older metamodel), fall back to the XMI file
+			System.out.println("Ignoring model cache " + cacheFile + ": " + e.getMessage());
+			return null;
+		} finally {
+			AnalysisMetrics.global().record(AnalysisMetrics.Phase.LOAD, start);
+		}
+	}
+
+	// the model moves into the binary resource, which is also where a warm start finds it
+	private static void store(Grafcet grafcet, Path source, Path cacheFile) {
+		try {
+			Files.createDirectories(cacheFile.getParent());
+			ResourceSet resourceSet = new ResourceSetImpl();
+			Resource resource = new BinaryResourceImpl(URI.createFileURI(cacheFile.toString()));
+			resourceSet.getResources().add(resource);
+			resource.getContents().add(grafcet);
+
+			// written under a temporary name first, a concurrent run never sees half a file
+			Path temporary = Files.createTempFile(cacheFile.getParent(), source.getFileName().toString(), ".tmp");
+			try (OutputStream out = Files.newOutputStream(temporary)) {
+				resource.save(out, null);
+			}
+			try {
+				Files.move(temporary, cacheFile, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+			deleteOutdated(source, cacheFile);
+		} catch (IOException e) {
+			System.out.println("Could not write model cache " + cacheFile + ": " + e.getMessage());
+		}
+	}
+
+	private static void deleteOutdated(Path source, Path current) throws IOException {
+		String prefix = source.getFileName() + ".";
+		try (DirectoryStream<Path> entries = Files.newDirectoryStream(current.getParent(), prefix + "*" + EXTENSION)) {
+			for (Path entry : entries) {
+				String hash = entry.getFileName().toString().substring(prefix.length());
+				// only "<model>.<64 hex digits>.grafcetbin", not the copies of a model whose name extends this one
+				if (!entry.equals(current) && hash.length() == 64 + EXTENSION.length()) {
+					Files.deleteIfExists(entry);
+				}
+			}
+		}
+	}
+
+	private static String sha256(Path file) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		byte[] buffer = new byte[64 * 1024];
+		try (InputStream in = Files.newInputStream(file)) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		StringBuilder hex = new StringBuilder();
+		for (byte b : digest.digest()) {
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+}
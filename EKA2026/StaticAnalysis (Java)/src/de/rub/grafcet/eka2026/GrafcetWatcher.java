@@ -0,0 +1,171 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import de.hsu.grafcet.Grafcet;
+
+// Watch mode: reloads the .grafcet file whenever the editor saves it and re-analyses only what changed.
+// Transitions are identified by partial Grafcet name and transition ID and compared by their canonical formula;
+// unchanged transitions keep their output rows, new and changed ones are matched and solved again with the
+// session that stays open for the whole watch, removed ones are dropped.
+public class GrafcetWatcher implements AutoCloseable {
+	// editors write in several steps, events arriving this shortly after each other are one save
+	private static final long SETTLE_MILLIS = 300;
+
+	public static class Changes {
+		public int added;
+		public int changed;
+		public int removed;
+		public int unchanged;
+
+		@Override
+		public String toString() {
+			return added + " new, " + changed + " changed, " + removed + " removed, " + unchanged + " unchanged transitions";
+		}
+	}
+
+	private static class AnalyzedTransition {
+		private final String canonicalFormula;
+		private final List<Map<String, String>> outputRows;
+
+		AnalyzedTransition(String canonicalFormula, List<Map<String, String>> outputRows) {
+			this.canonicalFormula = canonicalFormula;
+			this.outputRows = outputRows;
+		}
+	}
+
+	private final Path modelPath;
+	private final ExclusionTable exclusionTable;
+	private final SMT_Solver smtSolver;
+	private final AnalysisSession session;
+	// "partial Grafcet#transition ID" in model order
+	private Map<String, AnalyzedTransition> transitions = new LinkedHashMap<>();
+
+	public GrafcetWatcher(String modelPath, ExclusionTable exclusionTable, SMT_Solver smtSolver) {
+		this.modelPath = Paths.get(modelPath).toAbsolutePath();
+		this.exclusionTable = exclusionTable;
+		this.smtSolver = smtSolver;
+		this.session = smtSolver.openSession(exclusionTable);
+	}
+
+	// diffs the model against the previous version and analyses new and changed transitions
+	public Changes update(Grafcet grafcet) {
+		Changes changes = new Changes();
+		TransitionIndex transitionIndex = TransitionIndex.build(grafcet, smtSolver.getMetrics());
+		List<List<Integer>> rowsPerTransition = null;
+		Map<String, AnalyzedTransition> updated = new LinkedHashMap<>();
+		for (TransitionIndex.IndexedTransition indexedTransition : transitionIndex.getTransitions()) {
+			String key = indexedTransition.getPartialGrafcet().getName() + "#" + indexedTransition.getTransition().getId();
+			String canonicalFormula = indexedTransition.getCanonicalFormula();
+			AnalyzedTransition previous = transitions.get(key);
+			if (previous != null && previous.canonicalFormula.equals(canonicalFormula)) {
+				changes.unchanged++;
+				updated.put(key, previous);
+				continue;
+			}
+			if (previous == null) {
+				changes.added++;
+			} else {
+				changes.changed++;
+			}
+			if (rowsPerTransition == null) {
+				long start = System.nanoTime();
+				rowsPerTransition = transitionIndex.matchRows(exclusionTable);
+				smtSolver.getMetrics().record(AnalysisMetrics.Phase.MATCH, start);
+			}
+			List<Map<String, String>> outputRows = grafcetFunctions.analyzeTransition(indexedTransition,
+					rowsPerTransition.get(indexedTransition.getOrdinal()), session, exclusionTable);
+			updated.put(key, new AnalyzedTransition(canonicalFormula, outputRows));
+		}
+		for (String key : transitions.keySet()) {
+			if (!updated.containsKey(key)) {
+				changes.removed++;
+			}
+		}
+		transitions = updated;
+		return changes;
+	}
+
+	// output table of the current model version, in model order
+	public List<Map<String, String>> getOutputTable() {
+		List<Map<String, String>> outputTable = new ArrayList<>();
+		for (AnalyzedTransition transition : transitions.values()) {
+			outputTable.addAll(transition.outputRows);
+		}
+		return outputTable;
+	}
+
+	// analyses the model once, then after every save; returns when the thread is interrupted
+	public void watch() {
+		reload();
+		try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+			modelPath.getParent().register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+			System.out.println("Watching " + modelPath + " for changes");
+			while (!Thread.currentThread().isInterrupted()) {
+				WatchKey key = watchService.take();
+				boolean modelChanged = concernsModel(key);
+				// collect the rest of this save before reloading
+				WatchKey next;
+				while ((next = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					modelChanged |= concernsModel(next);
+				}
+				if (modelChanged) {
+					reload();
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private boolean concernsModel(WatchKey key) {
+		boolean modelChanged = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.context() instanceof Path && modelPath.getFileName().equals(event.context())) {
+				modelChanged = true;
+			}
+		}
+		key.reset();
+		return modelChanged;
+	}
+
+	private void reload() {
+		Grafcet grafcet = grafcetFunctions.loadGrafcet(modelPath.toString());
+		if (grafcet == null) {
+			// half-written file or a syntax error, the next save triggers another attempt
+			System.out.println("Could not load " + modelPath + ", keeping the previous results");
+			return;
+		}
+		Map<String, AnalyzedTransition> before = new HashMap<>(transitions);
+		Changes changes = update(grafcet);
+		System.out.println("Model reloaded: " + changes);
+		List<Map<String, String>> changedRows = new ArrayList<>();
+		for (Map.Entry<String, AnalyzedTransition> entry : transitions.entrySet()) {
+			if (before.get(entry.getKey()) != entry.getValue()) {
+				changedRows.addAll(entry.getValue().outputRows);
+			}
+		}
+		grafcetFunctions.printOutputTable(changedRows);
+	}
+
+	@Override
+	public void close() {
+		session.close();
+	}
+}
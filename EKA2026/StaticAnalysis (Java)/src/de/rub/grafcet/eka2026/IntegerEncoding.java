@@ -0,0 +1,171 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.hsu.grafcet.Grafcet;
+import de.hsu.grafcet.Transition;
+import terms.Operator;
+import terms.Term;
+import terms.Variable;
+import terms.impl.IntegerConstantImpl;
+
+// How the FormulaDag encodes comparisons of integer variables (counters, positions) for the solvers.
+// The metamodel declares no value range for an Integer sort, so the range of a variable is taken from the
+// model: a variable that is only ever compared with constants can be restricted to [min - 1, max + 1] of
+// those constants, every value outside behaves like the nearest bound in all of its comparisons. Such a
+// variable is encoded on ceil(log2(max - min + 3)) bits as an offset from min - 1:
+//   BIT_BLAST   bit1x .. bitnx as plain Boolean variables (the naming of getEqualCases), so a condition
+//               over counters is purely Boolean and the PropositionalFastPath decides it without Z3
+//   BIT_VECTOR  one Z3 bit-vector of that width
+//   LIA         Z3 integers, always used for variables in sums or compared with other variables
+// AUTO bit-blasts up to MAX_BIT_BLAST_WIDTH bits and uses bit-vectors above.
+public class IntegerEncoding {
+
+	public enum Mode {
+		LIA, BIT_VECTOR, BIT_BLAST, AUTO
+	}
+
+	// wider bit-blasts make the DPLL of the fast path search long, bit-vectors are cheaper for Z3 there
+	static final int MAX_BIT_BLAST_WIDTH = 12;
+
+	// integer variables of a model by declaration name: the constants they are compared with, or unbounded
+	public static class Ranges {
+		private final Map<String, long[]> constants = new HashMap<>();
+		private final Set<String> unbounded = new HashSet<>();
+
+		public static Ranges of(Grafcet grafcet) {
+			Ranges ranges = new Ranges();
+			for (Grafcet partialGrafcet : grafcet.getPartialGrafcets()) {
+				for (Transition transition : partialGrafcet.getTransitions()) {
+					if (transition.getTerm() != null) {
+						ranges.collect(transition.getTerm());
+					}
+				}
+			}
+			return ranges;
+		}
+
+		// for a single condition outside of a model
+		public static Ranges of(Term term) {
+			Ranges ranges = new Ranges();
+			ranges.collect(term);
+			return ranges;
+		}
+
+		private void collect(Term term) {
+			if (!(term instanceof Operator)) {
+				return;
+			}
+			List<Term> subterms = ((Operator) term).getSubterm();
+			switch (term.toString()) {
+				case "terms.impl.LessThanImpl":
+				case "terms.impl.GreaterThanImpl":
+				case "terms.impl.EqualityImpl":
+					Variable variable = comparedVariable(subterms);
+					if (variable != null) {
+						long constant = comparedConstant(subterms);
+						constants.merge(variable.getVariableDeclaration().getName(), new long[] {constant, constant},
+								(a, b) -> new long[] {Math.min(a[0], b[0]), Math.max(a[1], b[1])});
+						return;
+					}
+					// x = y of two Boolean variables is an equivalence and says nothing about integers
+					if (!term.toString().equals("terms.impl.EqualityImpl") || isInteger(subterms.get(0)) || isInteger(subterms.get(1))) {
+						markUnbounded(term);
+						return;
+					}
+					break;
+				case "terms.impl.AdditionImpl":
+					markUnbounded(term);
+					return;
+				default:
+			}
+			for (Term subterm : subterms) {
+				collect(subterm);
+			}
+		}
+
+		private void markUnbounded(Term term) {
+			if (term instanceof Variable) {
+				unbounded.add(((Variable) term).getVariableDeclaration().getName());
+			} else if (term instanceof Operator) {
+				for (Term subterm : ((Operator) term).getSubterm()) {
+					markUnbounded(subterm);
+				}
+			}
+		}
+
+		// lowest value of the encoding and its width in bits, null if the variable needs LIA
+		long[] range(String declarationName) {
+			long[] range = constants.get(declarationName);
+			if (range == null || unbounded.contains(declarationName)) {
+				return null;
+			}
+			long span = range[1] - range[0] + 2;
+			return new long[] {range[0] - 1, 64 - Long.numberOfLeadingZeros(span)};
+		}
+	}
+
+	private final Mode mode;
+	private final Ranges ranges;
+
+	public IntegerEncoding(Mode mode, Ranges ranges) {
+		this.mode = mode;
+		this.ranges = ranges;
+	}
+
+	public Ranges getRanges() {
+		return ranges;
+	}
+
+	// LIA, BIT_VECTOR or BIT_BLAST for one variable
+	Mode encodingOf(String declarationName) {
+		long[] range = mode == Mode.LIA ? null : ranges.range(declarationName);
+		if (range == null) {
+			return Mode.LIA;
+		}
+		if (mode == Mode.AUTO) {
+			return range[1] <= MAX_BIT_BLAST_WIDTH ? Mode.BIT_BLAST : Mode.BIT_VECTOR;
+		}
+		return mode;
+	}
+
+	long low(String declarationName) {
+		return ranges.range(declarationName)[0];
+	}
+
+	int width(String declarationName) {
+		return (int) ranges.range(declarationName)[1];
+	}
+
+	// the variable of an integer comparison with a constant, e.g. LESS[x, 5] or EQ[3, x]; null otherwise
+	static Variable comparedVariable(List<Term> subterms) {
+		if (subterms.size() != 2) {
+			return null;
+		}
+		Term left = subterms.get(0);
+		Term right = subterms.get(1);
+		if (left instanceof Variable && right instanceof IntegerConstantImpl) {
+			return (Variable) left;
+		}
+		if (right instanceof Variable && left instanceof IntegerConstantImpl) {
+			return (Variable) right;
+		}
+		return null;
+	}
+
+	private static boolean isInteger(Term term) {
+		if (term instanceof Variable) {
+			return ((Variable) term).getVariableDeclaration().getSort() instanceof terms.Integer;
+		}
+		return term instanceof IntegerConstantImpl || (term instanceof Operator && term.toString().equals("terms.impl.AdditionImpl"));
+	}
+
+	static long comparedConstant(List<Term> subterms) {
+		Term constant = subterms.get(0) instanceof IntegerConstantImpl ? subterms.get(0) : subterms.get(1);
+		return ((IntegerConstantImpl) constant).getValue();
+	}
+}
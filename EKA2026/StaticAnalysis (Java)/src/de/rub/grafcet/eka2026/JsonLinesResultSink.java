@@ -0,0 +1,36 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.Writer;
+import java.util.stream.Collectors;
+
+// One JSON object per line, e.g.
+//   {"partialGrafcet": "G1", "transitionId": "3", "transition": "//@partialGrafcets.0/@transitions.2",
+//    "condition": "...", "exclusionRow": "P/a/b/reason", "verdict": "UNSATISFIABLE", "satisfiability": "false", "unsatCore": ["..."]}
+public class JsonLinesResultSink extends WriterResultSink {
+
+	public JsonLinesResultSink(Writer writer) {
+		super(writer);
+	}
+
+	@Override
+	public void accept(Finding finding) {
+		StringBuilder json = new StringBuilder("{");
+		json.append("\"partialGrafcet\": ").append(quote(finding.getPartialGrafcetName()));
+		json.append(", \"transitionId\": ").append(quote(finding.getTransitionId()));
+		json.append(", \"transition\": ").append(quote(finding.getTransitionReference()));
+		json.append(", \"condition\": ").append(quote(finding.getCondition()));
+		json.append(", \"exclusionRow\": ").append(quote(finding.getExclusionRow()));
+		json.append(", \"verdict\": ").append(quote(finding.getVerdict().name()));
+		json.append(", \"satisfiability\": ").append(quote(finding.getVerdict().getSatisfiability()));
+		if (finding.getUnsatCore() != null) {
+			json.append(", \"unsatCore\": [");
+			json.append(finding.getUnsatCore().stream().map(JsonLinesResultSink::quote).collect(Collectors.joining(", ")));
+			json.append("]");
+		}
+		write(json.append("}\n").toString());
+	}
+
+	private static String quote(String text) {
+		return text == null ? "null" : DirectoryBatchRunner.quote(text);
+	}
+}
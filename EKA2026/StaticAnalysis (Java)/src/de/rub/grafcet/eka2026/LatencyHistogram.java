@@ -0,0 +1,80 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free latency histogram with power-of-two buckets in nanoseconds. Percentiles are reported as the upper
+// bound of their bucket, which is precise enough to see where time goes and cheap enough for every solver call.
+public class LatencyHistogram {
+	private static final int BUCKETS = 64;
+
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	public LatencyHistogram() {
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		// bucket i holds values in [2^(i-1), 2^i), bucket 0 only zero
+		buckets[Long.SIZE - Long.numberOfLeadingZeros(value)].increment();
+		count.increment();
+		totalNanos.add(value);
+		maxNanos.accumulateAndGet(value, Math::max);
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	// upper bound of the bucket that contains the given percentile (0..100)
+	public long percentileNanos(double percentile) {
+		long total = getCount();
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(total * percentile / 100.0);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += buckets[i].sum();
+			if (seen >= rank) {
+				return Math.min(i >= 63 ? Long.MAX_VALUE : (1L << i) - 1, getMaxNanos());
+			}
+		}
+		return getMaxNanos();
+	}
+
+	public void reset() {
+		for (LongAdder bucket : buckets) {
+			bucket.reset();
+		}
+		count.reset();
+		totalNanos.reset();
+		maxNanos.set(0);
+	}
+
+	@Override
+	public String toString() {
+		long n = getCount();
+		long mean = n == 0 ? 0 : getTotalNanos() / n;
+		return "count=" + n + " total=" + micros(getTotalNanos()) + " mean=" + micros(mean) + " p50<=" + micros(percentileNanos(50))
+				+ " p99<=" + micros(percentileNanos(99)) + " max=" + micros(getMaxNanos());
+	}
+
+	private static String micros(long nanos) {
+		return (nanos / 1000) + "us";
+	}
+}
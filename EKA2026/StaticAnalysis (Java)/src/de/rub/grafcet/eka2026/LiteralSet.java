@@ -0,0 +1,60 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.Arrays;
+
+// The literals of one transition condition as a bitset. Every variable declaration owns six consecutive bits:
+// x, NOT x, x_beforeRE, NOT x_beforeRE, x_beforeFE, NOT x_beforeFE. An exclusion row is two bit positions,
+// so "does the transition mention both literals of the row" is two word loads and two ANDs.
+public class LiteralSet {
+	public static final int BITS_PER_DECLARATION = 6;
+	public static final int PLAIN = 0;
+	public static final int BEFORE_RISING_EDGE = 1;
+	public static final int BEFORE_FALLING_EDGE = 2;
+
+	private static final long[] EMPTY = new long[0];
+
+	private long[] words = EMPTY;
+
+	public static int bit(int declaration, int variant, boolean negated) {
+		return declaration * BITS_PER_DECLARATION + 2 * variant + (negated ? 1 : 0);
+	}
+
+	public void add(int bit) {
+		int word = bit >>> 6;
+		if (word >= words.length) {
+			words = Arrays.copyOf(words, word + 1);
+		}
+		words[word] |= 1L << bit;
+	}
+
+	public boolean contains(int bit) {
+		int word = bit >>> 6;
+		return word < words.length && (words[word] & (1L << bit)) != 0;
+	}
+
+	public boolean containsBoth(int bit1, int bit2) {
+		return contains(bit1) && contains(bit2);
+	}
+
+	public int cardinality() {
+		int count = 0;
+		for (long word : words) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	// ascending bit positions
+	public int[] toArray() {
+		int[] bits = new int[cardinality()];
+		int count = 0;
+		for (int w = 0; w < words.length; w++) {
+			long word = words[w];
+			while (word != 0) {
+				bits[count++] = w * 64 + Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+			}
+		}
+		return bits;
+	}
+}
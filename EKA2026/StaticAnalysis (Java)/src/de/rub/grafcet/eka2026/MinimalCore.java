@@ -0,0 +1,56 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Deterministic minimal unsat core over the rows of an exclusion table.
+// The core only depends on the formula and the table, not on solver state, so every back end and every
+// thread reports the same rows for the same query.
+public class MinimalCore {
+
+	public interface Oracle {
+		// true if the formula together with the given rows (ascending indices) is unsatisfiable
+		boolean isUnsat(int[] enabledRows);
+	}
+
+	// precondition: the formula is unsatisfiable together with all rowCount rows
+	public static int[] extract(int rowCount, Oracle oracle) {
+		List<Integer> core = new ArrayList<>();
+		int upperBound = rowCount;
+
+		while (!oracle.isUnsat(enabledRows(core, 0))) {
+			// smallest prefix that is unsatisfiable together with the rows found so far,
+			// its last row is part of every core that extends the current one
+			int low = 1;
+			int high = upperBound;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (oracle.isUnsat(enabledRows(core, middle))) {
+					high = middle;
+				} else {
+					low = middle + 1;
+				}
+			}
+			core.add(low - 1);
+			upperBound = low - 1;
+		}
+
+		int[] result = new int[core.size()];
+		for (int i = 0; i < result.length; i++) {
+			// rows were found in descending order
+			result[i] = core.get(result.length - 1 - i);
+		}
+		return result;
+	}
+
+	private static int[] enabledRows(List<Integer> core, int prefixLength) {
+		int[] rows = new int[prefixLength + core.size()];
+		for (int i = 0; i < prefixLength; i++) {
+			rows[i] = i;
+		}
+		for (int i = 0; i < core.size(); i++) {
+			rows[prefixLength + i] = core.get(core.size() - 1 - i);
+		}
+		return rows;
+	}
+}
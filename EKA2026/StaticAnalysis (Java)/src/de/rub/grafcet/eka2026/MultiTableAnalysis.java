@@ -0,0 +1,78 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Evaluates several exclusion tables against one loaded model. The model, the transition index and the
+// extracted conditions are shared by all tables; every table gets its own session.
+public class MultiTableAnalysis {
+
+	public static List<String> listTables(String csvFolder) {
+		List<String> csvPaths = new ArrayList<>();
+		File[] files = new File(csvFolder).listFiles((dir, name) -> name.toLowerCase().endsWith(".csv"));
+		if (files == null) {
+			System.out.println("No exclusion tables found in: " + csvFolder);
+			return csvPaths;
+		}
+		Arrays.sort(files);
+		for (File file : files) {
+			csvPaths.add(file.getPath());
+		}
+		return csvPaths;
+	}
+
+	// table name (file name without .csv) -> output table, in the order of csvPaths
+	public static Map<String, List<Map<String, String>>> analyzeTables(TransitionIndex transitionIndex, List<String> csvPaths, SMT_Solver smtSolver) {
+		Map<String, List<Map<String, String>>> results = new LinkedHashMap<>();
+		for (String csvPath : csvPaths) {
+			ExclusionTable exclusionTable = ExclusionTable.read(csvPath);
+			if (exclusionTable.getImplicationGraph().hasFindings()) {
+				System.out.println(tableName(csvPath) + ": " + exclusionTable.getImplicationGraph().consistencyReport());
+			}
+			results.put(tableName(csvPath), grafcetFunctions.staticAnalysisAlgorithm(exclusionTable, transitionIndex, smtSolver));
+		}
+		return results;
+	}
+
+	// one line per transition that has a finding in at least one table, one column per table;
+	// "-" means the table has no exclusion row for that transition
+	public static void printComparisonMatrix(TransitionIndex transitionIndex, Map<String, List<Map<String, String>>> results) {
+		Map<String, Map<String, String>> verdicts = new HashMap<>();
+		for (Map.Entry<String, List<Map<String, String>>> table : results.entrySet()) {
+			for (Map<String, String> row : table.getValue()) {
+				String transitionKey = row.get("PartialGrafcetName") + "#" + row.get("TransitionID");
+				verdicts.computeIfAbsent(transitionKey, k -> new HashMap<>()).putIfAbsent(table.getKey(), row.get("Satisfiability"));
+			}
+		}
+
+		StringBuilder header = new StringBuilder("PartialGrafcetName; TransitionID; TransitionCondition");
+		for (String tableName : results.keySet()) {
+			header.append("; ").append(tableName);
+		}
+		System.out.println(header);
+
+		for (TransitionIndex.IndexedTransition indexedTransition : transitionIndex.getTransitions()) {
+			String partialGrafcetName = indexedTransition.getPartialGrafcet().getName();
+			String transitionID = String.valueOf(indexedTransition.getTransition().getId());
+			Map<String, String> transitionVerdicts = verdicts.remove(partialGrafcetName + "#" + transitionID);
+			if (transitionVerdicts == null) {
+				continue;
+			}
+			StringBuilder line = new StringBuilder(partialGrafcetName + "; " + transitionID + "; " + indexedTransition.getCondition());
+			for (String tableName : results.keySet()) {
+				line.append("; ").append(transitionVerdicts.getOrDefault(tableName, "-"));
+			}
+			System.out.println(line);
+		}
+	}
+
+	private static String tableName(String csvPath) {
+		String name = new File(csvPath).getName();
+		return name.toLowerCase().endsWith(".csv") ? name.substring(0, name.length() - 4) : name;
+	}
+}
@@ -0,0 +1,193 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+
+// Loads the Z3 native libraries once per JVM, and only when the first query needs Z3 (AnalysisSession.startZ3),
+// so runs decided entirely by the Java fast paths never touch them. The libraries are looked up in this order:
+//   1. the folder in -Dz3.library.path or the environment variable Z3_LIBRARY_PATH
+//   2. the folder set with setZ3Folder (main: z3\bin of the project)
+//   3. native/<os>-<arch>/ on the classpath (e.g. packed into a jar), extracted once to
+//      ~/.grafcetcache/z3-<os>-<arch>, a folder only its owner can access
+//   4. otherwise Z3's own loader, which searches java.library.path
+// A folder holds libz3 and libz3java under the platform's names (libz3.dll, libz3.so, libz3.dylib).
+public class NativeLibraries {
+	private static final String[] Z3_LIBRARIES = {"z3", "z3java"};
+
+	private static String configuredFolder;
+	private static String loadedFrom;
+
+	// takes effect unless the libraries are loaded already
+	public static synchronized void setZ3Folder(String z3BinFolder) {
+		configuredFolder = z3BinFolder;
+	}
+
+	public static synchronized void ensureZ3Loaded() {
+		if (loadedFrom != null) {
+			return;
+		}
+		String[] folders = {System.getProperty("z3.library.path"), System.getenv("Z3_LIBRARY_PATH"), configuredFolder};
+		for (String folder : folders) {
+			if (folder != null && !folder.isEmpty() && containsZ3(new File(folder))) {
+				load(new File(folder));
+				return;
+			}
+		}
+		File extracted = extractBundled();
+		if (extracted != null) {
+			load(extracted);
+			return;
+		}
+		// com.microsoft.z3.Native loads libz3java from java.library.path when its class is initialised
+		loadedFrom = "java.library.path";
+	}
+
+	public static synchronized boolean isZ3Loaded() {
+		return loadedFrom != null;
+	}
+
+	public static synchronized String getLoadedFrom() {
+		return loadedFrom;
+	}
+
+	private static void load(File folder) {
+		// libz3java links against libz3, which has to be loaded first
+		for (String name : Z3_LIBRARIES) {
+			File library = library(folder, name);
+			if (library == null) {
+				throw new UnsatisfiedLinkError("No " + System.mapLibraryName(name) + " in " + folder);
+			}
+			System.load(library.getAbsolutePath());
+		}
+		// both are loaded by path now; without this Z3's Native class would look for libz3java again by name
+		System.setProperty("z3.skipLibraryLoad", "true");
+		loadedFrom = folder.getPath();
+	}
+
+	private static boolean containsZ3(File folder) {
+		for (String name : Z3_LIBRARIES) {
+			if (library(folder, name) == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// mapLibraryName gives "z3.dll" on Windows while the Z3 release ships "libz3.dll"
+	private static File library(File folder, String name) {
+		for (String candidate : fileNames(name)) {
+			File file = new File(folder, candidate);
+			if (file.isFile()) {
+				return file;
+			}
+		}
+		return null;
+	}
+
+	private static String[] fileNames(String name) {
+		return new String[] {System.mapLibraryName(name), System.mapLibraryName("lib" + name)};
+	}
+
+	// copies native/<os>-<arch>/ from the classpath into a private folder per user and platform, null if not
+	// bundled; an existing copy is only loaded if its content equals the bundled library, otherwise it is replaced
+	private static File extractBundled() {
+		String platform = platform();
+		Path target = Paths.get(System.getProperty("user.home"), ".grafcetcache", "z3-" + platform);
+		try {
+			boolean folderReady = false;
+			for (String name : Z3_LIBRARIES) {
+				URL resource = null;
+				String fileName = null;
+				for (String candidate : fileNames(name)) {
+					resource = NativeLibraries.class.getResource("/native/" + platform + "/" + candidate);
+					if (resource != null) {
+						fileName = candidate;
+						break;
+					}
+				}
+				if (resource == null) {
+					return null;
+				}
+				if (!folderReady) {
+					createPrivateFolder(target);
+					folderReady = true;
+				}
+				byte[] bundled;
+				try (InputStream in = resource.openStream()) {
+					bundled = in.readAllBytes();
+				}
+				Path file = target.resolve(fileName);
+				if (Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS) && Arrays.equals(bundled, Files.readAllBytes(file))) {
+					continue;
+				}
+				// written under a temporary name first, another JVM extracting at the same time never loads half a file
+				Path temporary = Files.createTempFile(target, fileName, ".tmp");
+				Files.write(temporary, bundled);
+				try {
+					Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+		} catch (IOException e) {
+			System.out.println("Could not extract the bundled Z3 libraries to " + target + ": " + e.getMessage());
+			return null;
+		}
+		return target.toFile();
+	}
+
+	// Created rwx------ where the file system has POSIX permissions (the user profile on Windows is private).
+	// An existing folder has to belong to this user and is closed to everyone else before anything is loaded from it.
+	private static void createPrivateFolder(Path folder) throws IOException {
+		if (!folder.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			Files.createDirectories(folder);
+			return;
+		}
+		Set<PosixFilePermission> ownerOnly = PosixFilePermissions.fromString("rwx------");
+		Files.createDirectories(folder, PosixFilePermissions.asFileAttribute(ownerOnly));
+		if (Files.isSymbolicLink(folder)) {
+			throw new IOException(folder + " is a symbolic link");
+		}
+		UserPrincipal user = folder.getFileSystem().getUserPrincipalLookupService()
+				.lookupPrincipalByName(System.getProperty("user.name"));
+		if (!Files.getOwner(folder, LinkOption.NOFOLLOW_LINKS).equals(user)) {
+			throw new IOException(folder + " belongs to another user");
+		}
+		if (!Files.getPosixFilePermissions(folder, LinkOption.NOFOLLOW_LINKS).equals(ownerOnly)) {
+			Files.setPosixFilePermissions(folder, ownerOnly);
+		}
+	}
+
+	// e.g. linux-x86_64, windows-x86_64, osx-aarch64
+	static String platform() {
+		String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+		String arch = System.getProperty("os.arch").toLowerCase(Locale.ROOT);
+		if (os.startsWith("windows")) {
+			os = "windows";
+		} else if (os.startsWith("mac") || os.startsWith("darwin")) {
+			os = "osx";
+		} else if (os.startsWith("linux")) {
+			os = "linux";
+		}
+		if (arch.equals("amd64") || arch.equals("x64")) {
+			arch = "x86_64";
+		} else if (arch.equals("arm64")) {
+			arch = "aarch64";
+		}
+		return os + "-" + arch;
+	}
+}
@@ -0,0 +1,327 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Solver results that survive the JVM, the second tier behind SolverResultCache.
+// The file is a memory-mapped append-only log: a header (magic, format version, analysis version) followed by
+// records [length][CRC32][analysis version, exclusionSetHash, canonical formula, satisfiable, unsat core]. The index from query to record
+// offset is rebuilt by scanning the log on open; the scan stops at the first record that is cut off or fails its
+// checksum, so a crash while appending only loses that record. When the log would grow past maxBytes, the least
+// recently used records are dropped and the rest is compacted to the front of the same file.
+// One JVM at a time writes the log: it holds an exclusive FileLock on it. A store opened while another process
+// holds the lock maps the log read-only, answers from what was there on open and stores nothing. Every hit is
+// checked against its key and checksum again, a record changed since the scan counts as a miss.
+// The analysis version is part of every stored key: a log written by another version is started over on open,
+// and a record of another version is never a hit.
+public class PersistentResultStore implements AutoCloseable {
+	private static final int MAGIC = 0x47525253;
+	// layout of the log
+	private static final int FORMAT_VERSION = 2;
+	// raise whenever a change of the analysis (encoding, normalization, a solver fix) can change the verdict or
+	// the core of the same query
+	static final int ANALYSIS_VERSION = 1;
+	private static final int HEADER_BYTES = 12;
+	private static final int RECORD_HEADER_BYTES = 8;
+	private static final int MIN_MAPPING = 1 << 20;
+
+	private static class Entry {
+		private int offset;
+		private final int length;
+		private long lastUsed;
+
+		Entry(int offset, int length, long lastUsed) {
+			this.offset = offset;
+			this.length = length;
+			this.lastUsed = lastUsed;
+		}
+	}
+
+	private final Path path;
+	private final int maxBytes;
+	private final int analysisVersion;
+	private final FileChannel channel;
+	private final boolean readOnly;
+	private MappedByteBuffer log;
+	private int end;
+	private final Map<SolverResultCache.QueryKey, Entry> index = new HashMap<>();
+	private long clock;
+	private long evictions;
+
+	public PersistentResultStore(Path path, long maxBytes) throws IOException {
+		this(path, maxBytes, ANALYSIS_VERSION);
+	}
+
+	// for tests of another analysis version
+	PersistentResultStore(Path path, long maxBytes, int analysisVersion) throws IOException {
+		this.path = path;
+		this.analysisVersion = analysisVersion;
+		this.maxBytes = (int) Math.max(MIN_MAPPING, Math.min(maxBytes, Integer.MAX_VALUE));
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.readOnly = !lock(channel);
+		if (readOnly) {
+			System.out.println("Result store " + path + " is in use by another process, opened read-only");
+			// a read-only mapping cannot grow the file, nothing past its current end is mapped
+			log = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), this.maxBytes));
+			if (log.capacity() >= HEADER_BYTES && hasCurrentHeader()) {
+				scan();
+			} else {
+				end = HEADER_BYTES;
+			}
+			return;
+		}
+		map((int) Math.min(Math.max(channel.size(), MIN_MAPPING), this.maxBytes));
+		if (!hasCurrentHeader()) {
+			// new file, or written by another format or analysis version: start over
+			clear(HEADER_BYTES, log.capacity());
+			log.putInt(0, MAGIC);
+			log.putInt(4, FORMAT_VERSION);
+			log.putInt(8, analysisVersion);
+			end = HEADER_BYTES;
+		} else {
+			scan();
+		}
+	}
+
+	private boolean hasCurrentHeader() {
+		return log.getInt(0) == MAGIC && log.getInt(4) == FORMAT_VERSION && log.getInt(8) == analysisVersion;
+	}
+
+	// released when the channel is closed
+	private static boolean lock(FileChannel channel) throws IOException {
+		try {
+			return channel.tryLock() != null;
+		} catch (OverlappingFileLockException e) {
+			// held by another store of this JVM
+			return false;
+		}
+	}
+
+	private void map(int capacity) throws IOException {
+		log = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+	}
+
+	private void scan() {
+		int position = HEADER_BYTES;
+		while (position + RECORD_HEADER_BYTES <= log.capacity()) {
+			int length = log.getInt(position);
+			if (length <= 0 || position + RECORD_HEADER_BYTES + length > log.capacity()) {
+				break;
+			}
+			byte[] payload = new byte[length];
+			log.get(position + RECORD_HEADER_BYTES, payload);
+			if (crc(payload) != log.getInt(position + 4)) {
+				break;
+			}
+			SolverResultCache.QueryKey key = decodeKey(ByteBuffer.wrap(payload));
+			if (key != null) {
+				index.put(key, new Entry(position, RECORD_HEADER_BYTES + length, ++clock));
+			}
+			position += RECORD_HEADER_BYTES + length;
+		}
+		end = position;
+		if (!readOnly) {
+			// whatever follows the last valid record is garbage from an interrupted append
+			clear(end, Math.min(log.capacity(), end + RECORD_HEADER_BYTES));
+		}
+	}
+
+	public synchronized SolverResult get(SolverResultCache.QueryKey key) {
+		Entry entry = index.get(key);
+		if (entry == null) {
+			return null;
+		}
+		SolverResult result = read(entry, key);
+		if (result == null) {
+			index.remove(key);
+			return null;
+		}
+		entry.lastUsed = ++clock;
+		return result;
+	}
+
+	// null unless the record at the entry is still intact and stores this key
+	private SolverResult read(Entry entry, SolverResultCache.QueryKey key) {
+		int length = entry.length - RECORD_HEADER_BYTES;
+		if (log.getInt(entry.offset) != length) {
+			return null;
+		}
+		byte[] payload = new byte[length];
+		log.get(entry.offset + RECORD_HEADER_BYTES, payload);
+		if (crc(payload) != log.getInt(entry.offset + 4)) {
+			return null;
+		}
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(payload);
+			if (!key.equals(decodeKey(buffer))) {
+				return null;
+			}
+			boolean satisfiable = buffer.get() != 0;
+			int coreLength = buffer.getInt();
+			int[] core = null;
+			if (coreLength >= 0) {
+				core = new int[coreLength];
+				for (int i = 0; i < coreLength; i++) {
+					core[i] = buffer.getInt();
+				}
+			}
+			return new SolverResult(satisfiable, core);
+		} catch (RuntimeException e) {
+			// lengths that do not fit the payload
+			return null;
+		}
+	}
+
+	// errors are never stored, nor anything while another process holds the log; an existing entry for the key is kept
+	public synchronized void put(SolverResultCache.QueryKey key, SolverResult result) {
+		if (readOnly || result.isError() || index.containsKey(key)) {
+			return;
+		}
+		byte[] formula = key.getCanonicalFormula().getBytes(StandardCharsets.UTF_8);
+		int[] core = result.getUnsatCore();
+		int length = 4 + 8 + 4 + formula.length + 1 + 4 + (core == null ? 0 : 4 * core.length);
+		int recordBytes = RECORD_HEADER_BYTES + length;
+		if (HEADER_BYTES + recordBytes > maxBytes / 2) {
+			// larger than anything sensible to keep
+			return;
+		}
+		try {
+			if (end + recordBytes + RECORD_HEADER_BYTES > maxBytes) {
+				evict(maxBytes / 2);
+			}
+			if (end + recordBytes + RECORD_HEADER_BYTES > log.capacity()) {
+				map((int) Math.min((long) maxBytes, Math.max(2L * log.capacity(), end + recordBytes + RECORD_HEADER_BYTES)));
+			}
+		} catch (IOException e) {
+			System.out.println("Could not grow result store " + path + ": " + e.getMessage());
+			return;
+		}
+		ByteBuffer payload = ByteBuffer.allocate(length);
+		payload.putInt(analysisVersion);
+		payload.putLong(key.getExclusionSetHash());
+		payload.putInt(formula.length);
+		payload.put(formula);
+		payload.put((byte) (result.isSatisfiable() ? 1 : 0));
+		payload.putInt(core == null ? -1 : core.length);
+		if (core != null) {
+			for (int row : core) {
+				payload.putInt(row);
+			}
+		}
+		byte[] bytes = payload.array();
+		// payload and checksum first, the length last: a record is only visible once it is complete
+		log.put(end + RECORD_HEADER_BYTES, bytes);
+		log.putInt(end + 4, crc(bytes));
+		log.putInt(end + RECORD_HEADER_BYTES + length, 0);
+		log.putInt(end, length);
+		index.put(key, new Entry(end, recordBytes, ++clock));
+		end += recordBytes;
+	}
+
+	// keeps the most recently used records that fit into targetBytes and moves them to the front of the log
+	private void evict(int targetBytes) {
+		List<Entry> entries = new ArrayList<>(index.values());
+		entries.sort((a, b) -> Long.compare(b.lastUsed, a.lastUsed));
+		int kept = HEADER_BYTES;
+		for (Entry entry : entries) {
+			if (kept + entry.length <= targetBytes) {
+				kept += entry.length;
+			} else {
+				entry.offset = -1;
+				evictions++;
+			}
+		}
+		index.values().removeIf(entry -> entry.offset < 0);
+		compact();
+	}
+
+	// rewrites the live records in log order without gaps
+	public synchronized void compact() {
+		if (readOnly) {
+			return;
+		}
+		List<Entry> entries = new ArrayList<>(index.values());
+		entries.sort((a, b) -> Integer.compare(a.offset, b.offset));
+		int position = HEADER_BYTES;
+		for (Entry entry : entries) {
+			if (entry.offset != position) {
+				// records only move towards the front, so the source is never overwritten before it is read
+				byte[] record = new byte[entry.length];
+				log.get(entry.offset, record);
+				log.put(position, record);
+				entry.offset = position;
+			}
+			position += entry.length;
+		}
+		clear(position, end);
+		end = position;
+	}
+
+	private void clear(int from, int to) {
+		byte[] zeros = new byte[Math.min(64 * 1024, Math.max(0, to - from))];
+		for (int position = from; position < to; position += zeros.length) {
+			log.put(position, zeros, 0, Math.min(zeros.length, to - position));
+		}
+	}
+
+	// null for a record of another analysis version
+	private SolverResultCache.QueryKey decodeKey(ByteBuffer buffer) {
+		if (buffer.getInt() != analysisVersion) {
+			return null;
+		}
+		long exclusionSetHash = buffer.getLong();
+		byte[] formula = new byte[buffer.getInt()];
+		buffer.get(formula);
+		return new SolverResultCache.QueryKey(new String(formula, StandardCharsets.UTF_8), exclusionSetHash);
+	}
+
+	private static int crc(byte[] bytes) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes);
+		return (int) crc.getValue();
+	}
+
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	public synchronized int size() {
+		return index.size();
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "Result store " + path + (readOnly ? " (read-only)" : "") + ": " + index.size() + " results, " + end + " bytes, " + evictions + " evicted";
+	}
+
+	@Override
+	public synchronized void close() {
+		if (!readOnly) {
+			log.force();
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+}
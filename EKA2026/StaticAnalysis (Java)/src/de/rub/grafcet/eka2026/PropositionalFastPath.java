@@ -0,0 +1,379 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import terms.Operator;
+import terms.Term;
+import terms.Variable;
+import terms.impl.BooleanConstantImpl;
+
+// Decides purely Boolean transition conditions against the exclusion table without Z3.
+// The condition is Tseitin-encoded into clauses and searched with DPLL; the exclusion rows stay 2-clauses
+// NOT(a AND b) and are only visited through unit propagation. Once every clause of the condition is satisfied
+// and propagation found no conflict, the untouched rows are a subset of the table over unassigned variables,
+// satisfiable because the table itself is (checked once by the ExclusionImplicationGraph). So the search
+// only branches on the variables of the condition, however large the table is.
+// Conditions with integer terms, and tables that are contradictory on their own, go to Z3.
+public class PropositionalFastPath {
+
+	public enum Mode {
+		// every query goes to Z3
+		OFF,
+		// Boolean queries are decided here
+		ON,
+		// Boolean queries are decided here and by Z3, differences are reported and Z3's answer is used
+		VERIFY
+	}
+
+	private final VariableDictionary variables;
+	private final int tableVariables;
+	private final int rowCount;
+	// per literal index: the literals it implies and the rows they come from
+	private final int[][] implicationTargets;
+	private final int[][] implicationRows;
+
+	// search state, reused between queries; a session is only used by one thread at a time
+	private int[] values = new int[0];
+	private int[] trail = new int[0];
+	private int trailSize;
+	private int propagated;
+	private final boolean[] enabledRows;
+
+	public PropositionalFastPath(ExclusionTable exclusionTable) {
+		this.variables = exclusionTable.getVariables();
+		this.tableVariables = variables.size();
+		this.rowCount = exclusionTable.size();
+		this.enabledRows = new boolean[rowCount];
+
+		List<List<int[]>> implications = new ArrayList<>();
+		for (int i = 0; i < 2 * (tableVariables + 1); i++) {
+			implications.add(new ArrayList<>());
+		}
+		for (int row = 0; row < rowCount; row++) {
+			int var1 = exclusionTable.var1Id(row);
+			int var2 = exclusionTable.var2Id(row);
+			int a = exclusionTable.isVar1Negated(row) ? -(var1 + 1) : var1 + 1;
+			int b = exclusionTable.isVar2Negated(row) ? -(var2 + 1) : var2 + 1;
+			// NOT(a AND b): a implies NOT b and b implies NOT a
+			implications.get(index(a)).add(new int[] {-b, row});
+			implications.get(index(b)).add(new int[] {-a, row});
+		}
+		implicationTargets = new int[implications.size()][];
+		implicationRows = new int[implications.size()][];
+		for (int i = 0; i < implications.size(); i++) {
+			List<int[]> edges = implications.get(i);
+			implicationTargets[i] = new int[edges.size()];
+			implicationRows[i] = new int[edges.size()];
+			for (int e = 0; e < edges.size(); e++) {
+				implicationTargets[i][e] = edges.get(e)[0];
+				implicationRows[i][e] = edges.get(e)[1];
+			}
+		}
+	}
+
+	// Boolean variables and constants under NOT, AND, OR, edges and Boolean equality
+	public static boolean isPropositional(Term term) {
+		if (term instanceof Variable) {
+			return !(((Variable) term).getVariableDeclaration().getSort() instanceof terms.Integer);
+		}
+		if (term instanceof BooleanConstantImpl) {
+			return true;
+		}
+		if (!(term instanceof Operator)) {
+			return false;
+		}
+		switch (term.toString()) {
+			case "terms.impl.NotImpl":
+			case "terms.impl.AndImpl":
+			case "terms.impl.OrImpl":
+			case "terms.impl.RisingEdgeImpl":
+			case "terms.impl.FallingEdgeImpl":
+			case "terms.impl.EqualityImpl":
+				for (Term subterm : ((Operator) term).getSubterm()) {
+					if (!isPropositional(subterm)) {
+						return false;
+					}
+				}
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	// the same on the FormulaDag, where bit-blasted integer comparisons are Boolean too
+	public static boolean isPropositional(FormulaDag.Node formula) {
+		return isPropositional(formula, new HashSet<>());
+	}
+
+	private static boolean isPropositional(FormulaDag.Node node, Set<FormulaDag.Node> visited) {
+		if (!visited.add(node)) {
+			return true;
+		}
+		switch (node.getKind()) {
+			case VARIABLE:
+			case TRUE:
+			case FALSE:
+				return true;
+			case NOT:
+			case AND:
+			case OR:
+			case IFF:
+				for (FormulaDag.Node child : node.getChildren()) {
+					if (!isPropositional(child, visited)) {
+						return false;
+					}
+				}
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	// only for propositional terms and a consistent table
+	public SolverResult check(FormulaDag.Node formula) {
+		Encoding encoding = new Encoding();
+		encoding.clauses.add(new int[] {encoding.encode(formula)});
+
+		Arrays.fill(enabledRows, true);
+		if (isSatisfiable(encoding)) {
+			return new SolverResult(true, null);
+		}
+		int[] core = MinimalCore.extract(rowCount, rows -> {
+			Arrays.fill(enabledRows, false);
+			for (int row : rows) {
+				enabledRows[row] = true;
+			}
+			return !isSatisfiable(encoding);
+		});
+		return new SolverResult(false, core);
+	}
+
+	// Tseitin encoding; table variables keep their dictionary id + 1, all other variables are numbered after them.
+	// A node shared in the FormulaDag (e.g. both uses of an edge operand) gets one literal and one set of clauses.
+	private class Encoding {
+		private final List<int[]> clauses = new ArrayList<>();
+		private final Map<String, Integer> localVariables = new HashMap<>();
+		private final Map<FormulaDag.Node, Integer> encoded = new HashMap<>();
+		private int variableCount = tableVariables;
+		private int trueVariable;
+
+		int encode(FormulaDag.Node node) {
+			Integer literal = encoded.get(node);
+			if (literal == null) {
+				literal = encodeNode(node);
+				encoded.put(node, literal);
+			}
+			return literal;
+		}
+
+		private int encodeNode(FormulaDag.Node node) {
+			FormulaDag.Node[] children = node.getChildren();
+			switch (node.getKind()) {
+				case VARIABLE:
+					return variable(node.getLabel());
+				case TRUE:
+				case FALSE:
+					if (trueVariable == 0) {
+						trueVariable = ++variableCount;
+						clauses.add(new int[] {trueVariable});
+					}
+					return node.getKind() == FormulaDag.Kind.TRUE ? trueVariable : -trueVariable;
+				case NOT:
+					return -encode(children[0]);
+				case AND:
+					return and(encodeAll(children));
+				case OR:
+					return or(encodeAll(children));
+				case IFF:
+					return iff(encode(children[0]), encode(children[1]));
+				default:
+					throw new IllegalArgumentException("Unsupported term: " + node.getKind());
+			}
+		}
+
+		private int[] encodeAll(FormulaDag.Node[] children) {
+			int[] literals = new int[children.length];
+			for (int i = 0; i < literals.length; i++) {
+				literals[i] = encode(children[i]);
+			}
+			return literals;
+		}
+
+		private int variable(String name) {
+			int id = variables.id(name);
+			if (id >= 0) {
+				return id + 1;
+			}
+			return localVariables.computeIfAbsent(name, n -> ++variableCount);
+		}
+
+		private int and(int... literals) {
+			int x = ++variableCount;
+			int[] all = new int[literals.length + 1];
+			all[0] = x;
+			for (int i = 0; i < literals.length; i++) {
+				clauses.add(new int[] {-x, literals[i]});
+				all[i + 1] = -literals[i];
+			}
+			clauses.add(all);
+			return x;
+		}
+
+		private int or(int... literals) {
+			int x = ++variableCount;
+			int[] any = new int[literals.length + 1];
+			any[0] = -x;
+			for (int i = 0; i < literals.length; i++) {
+				clauses.add(new int[] {x, -literals[i]});
+				any[i + 1] = literals[i];
+			}
+			clauses.add(any);
+			return x;
+		}
+
+		private int iff(int a, int b) {
+			int x = ++variableCount;
+			clauses.add(new int[] {-x, -a, b});
+			clauses.add(new int[] {-x, a, -b});
+			clauses.add(new int[] {x, a, b});
+			clauses.add(new int[] {x, -a, -b});
+			return x;
+		}
+	}
+
+	private boolean isSatisfiable(Encoding encoding) {
+		ensureCapacity(encoding.variableCount);
+		boolean satisfiable = propagate(encoding.clauses) && search(encoding.clauses);
+		undo(0);
+		return satisfiable;
+	}
+
+	private boolean search(List<int[]> clauses) {
+		int literal = unassignedLiteral(clauses);
+		if (literal == 0) {
+			return true;
+		}
+		int mark = trailSize;
+		if (assign(literal) && propagate(clauses) && search(clauses)) {
+			return true;
+		}
+		undo(mark);
+		if (assign(-literal) && propagate(clauses) && search(clauses)) {
+			return true;
+		}
+		undo(mark);
+		return false;
+	}
+
+	// first unassigned literal of a clause that is not satisfied yet, 0 if all clauses are satisfied
+	private int unassignedLiteral(List<int[]> clauses) {
+		for (int[] clause : clauses) {
+			int candidate = 0;
+			boolean satisfied = false;
+			for (int literal : clause) {
+				int value = value(literal);
+				if (value > 0) {
+					satisfied = true;
+					break;
+				}
+				if (value == 0 && candidate == 0) {
+					candidate = literal;
+				}
+			}
+			if (!satisfied && candidate != 0) {
+				return candidate;
+			}
+		}
+		return 0;
+	}
+
+	// false on a conflict
+	private boolean propagate(List<int[]> clauses) {
+		while (true) {
+			while (propagated < trailSize) {
+				int literal = trail[propagated++];
+				int[] targets = implicationTargets[index(literal)];
+				int[] rows = implicationRows[index(literal)];
+				for (int i = 0; i < targets.length; i++) {
+					if (enabledRows[rows[i]] && !assign(targets[i])) {
+						return false;
+					}
+				}
+			}
+			boolean assigned = false;
+			for (int[] clause : clauses) {
+				int unassigned = 0;
+				int unit = 0;
+				boolean satisfied = false;
+				for (int literal : clause) {
+					int value = value(literal);
+					if (value > 0) {
+						satisfied = true;
+						break;
+					}
+					if (value == 0) {
+						unassigned++;
+						unit = literal;
+					}
+				}
+				if (satisfied) {
+					continue;
+				}
+				if (unassigned == 0) {
+					return false;
+				}
+				if (unassigned == 1) {
+					assign(unit);
+					assigned = true;
+				}
+			}
+			if (!assigned && propagated == trailSize) {
+				return true;
+			}
+		}
+	}
+
+	private boolean assign(int literal) {
+		int value = value(literal);
+		if (value != 0) {
+			return value > 0;
+		}
+		values[Math.abs(literal)] = literal > 0 ? 1 : -1;
+		trail[trailSize++] = literal;
+		return true;
+	}
+
+	private int value(int literal) {
+		int value = values[Math.abs(literal)];
+		return literal > 0 ? value : -value;
+	}
+
+	private void undo(int mark) {
+		while (trailSize > mark) {
+			values[Math.abs(trail[--trailSize])] = 0;
+		}
+		propagated = Math.min(propagated, mark);
+	}
+
+	private void ensureCapacity(int variableCount) {
+		if (values.length <= variableCount) {
+			values = Arrays.copyOf(values, variableCount + 1);
+			trail = Arrays.copyOf(trail, variableCount + 1);
+		}
+	}
+
+	// literals of variables outside the table have no implications
+	private int index(int literal) {
+		int variable = Math.abs(literal);
+		if (variable > tableVariables) {
+			return 0;
+		}
+		return 2 * variable + (literal < 0 ? 1 : 0);
+	}
+}
@@ -0,0 +1,38 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+// Receives the findings of staticAnalysisAlgorithm as they are produced, in model order, always from one thread
+// at a time. File sinks write through a buffer, so memory stays flat however many findings a run has, and a
+// consumer can read the file while the run goes on (flush is called after every table and parallel chunk).
+public interface ResultSink extends AutoCloseable {
+
+	void accept(Finding finding);
+
+	default void flush() {
+	}
+
+	@Override
+	default void close() {
+	}
+
+	// by extension: .csv, .jsonl or .xmi (the ResultsInterchange format of Metamodell-Instances)
+	static ResultSink open(String path) throws IOException {
+		String lowerCase = path.toLowerCase();
+		if (!lowerCase.endsWith(".csv") && !lowerCase.endsWith(".jsonl") && !lowerCase.endsWith(".xmi")) {
+			throw new IllegalArgumentException("Unknown result format, expected .csv, .jsonl or .xmi: " + path);
+		}
+		Writer writer = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8);
+		if (lowerCase.endsWith(".csv")) {
+			return new CsvResultSink(writer);
+		}
+		if (lowerCase.endsWith(".jsonl")) {
+			return new JsonLinesResultSink(writer);
+		}
+		return new ResultsInterchangeSink(writer);
+	}
+}
@@ -0,0 +1,54 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.Writer;
+
+// The ResultsInterchange_*.xmi format of Metamodell-Instances: a results:Results element with one element per
+// finding that refers to its transition by XMI path, e.g.
+//   <TransitionSatisfiability transition="//@partialGrafcets.0/@transitions.3" TransitionID="4" Condition="..." ExclusionRow="..." Satisfiability="false" UnsatCore="[...]" />
+public class ResultsInterchangeSink extends WriterResultSink {
+
+	public ResultsInterchangeSink(Writer writer) {
+		super(writer);
+		write("<results:Results>\n");
+	}
+
+	@Override
+	public void accept(Finding finding) {
+		StringBuilder element = new StringBuilder("\t<TransitionSatisfiability");
+		element.append(" transition=\"").append(escape(finding.getTransitionReference())).append('"');
+		element.append(" TransitionID=\"").append(escape(finding.getTransitionId())).append('"');
+		element.append(" Condition=\"").append(escape(finding.getCondition())).append('"');
+		element.append(" ExclusionRow=\"").append(escape(finding.getExclusionRow())).append('"');
+		element.append(" Satisfiability=\"").append(escape(finding.getVerdict().getSatisfiability())).append('"');
+		if (finding.getUnsatCore() != null) {
+			element.append(" UnsatCore=\"").append(escape(String.valueOf(finding.getUnsatCore()))).append('"');
+		}
+		write(element.append(" />\n").toString());
+	}
+
+	@Override
+	protected void writeEnd() {
+		write("</results:Results>\n");
+	}
+
+	private static String escape(String value) {
+		if (value == null) {
+			return "";
+		}
+		StringBuilder escaped = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '&': escaped.append("&amp;"); break;
+				case '<': escaped.append("&lt;"); break;
+				case '>': escaped.append("&gt;"); break;
+				case '"': escaped.append("&quot;"); break;
+				case '\n': escaped.append("&#10;"); break;
+				case '\r': escaped.append("&#13;"); break;
+				case '\t': escaped.append("&#9;"); break;
+				default: escaped.append(c);
+			}
+		}
+		return escaped.toString();
+	}
+}
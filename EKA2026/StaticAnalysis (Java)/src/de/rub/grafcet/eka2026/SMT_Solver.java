@@ -1,7 +1,6 @@
 package de.rub.grafcet.eka2026;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +11,12 @@ import com.microsoft.z3.*;
 
 public class SMT_Solver {
 
+	// shared by all sessions of this solver, results are keyed by formula and exclusion table
+	private final SolverResultCache resultCache = new SolverResultCache();
+	private final AnalysisMetrics metrics;
+	private PropositionalFastPath.Mode fastPathMode = PropositionalFastPath.Mode.ON;
+	private IntegerEncoding.Mode integerEncodingMode = IntegerEncoding.Mode.AUTO;
+
 	public static String parseExpression(String input) {
         
 	    // Base case: No nested structure (simple expression)
@@ -305,69 +310,64 @@ public class SMT_Solver {
 	    return intVars.computeIfAbsent(name.trim(), v -> ctx.mkIntConst(v));
 	}
 	
+	public SMT_Solver() {
+		this(AnalysisMetrics.global());
+	}
+
+	public SMT_Solver(AnalysisMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public AnalysisSession openSession(ExclusionTable exclusionTable) {
+		return new AnalysisSession(exclusionTable, resultCache, metrics, fastPathMode, integerEncodingMode);
+	}
+
+	public AnalysisSessionPool openSessionPool(ExclusionTable exclusionTable, int maxSessions) {
+		return new AnalysisSessionPool(exclusionTable, resultCache, metrics, fastPathMode, integerEncodingMode, maxSessions);
+	}
+
+	public SolverResultCache getResultCache() {
+		return resultCache;
+	}
+
+	public AnalysisMetrics getMetrics() {
+		return metrics;
+	}
+
+	// applies to sessions opened afterwards
+	public void setFastPathMode(PropositionalFastPath.Mode fastPathMode) {
+		this.fastPathMode = fastPathMode;
+	}
+
+	public PropositionalFastPath.Mode getFastPathMode() {
+		return fastPathMode;
+	}
+
+	// applies to sessions opened afterwards; the verdicts do not depend on it, only which solver is used and how fast
+	public void setIntegerEncoding(IntegerEncoding.Mode integerEncodingMode) {
+		this.integerEncodingMode = integerEncodingMode;
+	}
+
+	public IntegerEncoding.Mode getIntegerEncoding() {
+		return integerEncodingMode;
+	}
+
+	// consulted by every session before any solver work; null switches it off
+	public void setPersistentStore(PersistentResultStore persistentStore) {
+		resultCache.setPersistentStore(persistentStore);
+	}
+
+	// single check, use openSession() when more than one transition is analysed against the same table
 	public static boolean checkIsSatisfiableZ3(String booleanExpression, List<Map<String, String>> csvExclusionsFile) {
-	    booleanExpression = parseExpression(booleanExpression);
-	    try (Context ctx = new Context()) {   
-	    	
-	        Map<String, BoolExpr> boolVars = new HashMap<>();
-	        Map<String, IntExpr> intVars = new HashMap<>();
-	        BoolExpr formula = parseSMTStack(booleanExpression, ctx, boolVars, intVars);
-	        
-	        Solver solver = ctx.mkSolver();
-	        solver.add(formula);  
-	        initializeMutualExclusion(csvExclusionsFile, ctx, solver, boolVars);
-	        
-	        return solver.check() == Status.SATISFIABLE;
-	    } 
+	    try (AnalysisSession session = new AnalysisSession(ExclusionTable.fromRows(csvExclusionsFile))) {
+	        return session.checkIsSatisfiable(booleanExpression);
+	    }
 	    catch (Z3Exception e) {
 	        System.out.println("Z3 Exception: " + e.getMessage());
+	        AnalysisMetrics.global().z3Exception();
 	        return false;
 	    }
 	}
-	
-	public static void initializeMutualExclusion(
-	        List<Map<String, String>> csvExclusionsFile,
-	        Context ctx,
-	        Solver solver,
-	        Map<String, BoolExpr> boolVars
-	) 
-	{
-	    for (Map<String, String> row : csvExclusionsFile) {
-	        String var1Name = row.get("Var1");
-	        String var2Name = row.get("Var2");
-
-	        BoolExpr var1;
-	        BoolExpr var2;
-	        
-	        if (var1Name.startsWith("NOT[")) {
-	            // Extract the inner variable name, e.g. from "NOT[x]" → "x"
-	            String innerName = var1Name.substring(4, var1Name.length() - 1);
-	            // Retrieve or create the base variable
-	            BoolExpr innerVar = boolVars.computeIfAbsent(innerName, v -> ctx.mkBoolConst(v));
-	            // Negate it
-	            var1 = ctx.mkNot(innerVar);
-	        } else {
-	            // Normal variable (not negated)
-	            var1 = boolVars.computeIfAbsent(var1Name, v -> ctx.mkBoolConst(v));
-	        }
-	        
-	        if (var2Name.startsWith("NOT[")) {
-	            String innerName = var2Name.substring(4, var2Name.length() - 1);
-	            BoolExpr innerVar = boolVars.computeIfAbsent(innerName, v -> ctx.mkBoolConst(v));
-	            var2 = ctx.mkNot(innerVar);
-	        } else {
-	            var2 = boolVars.computeIfAbsent(var2Name, v -> ctx.mkBoolConst(v));
-	        }
-	        
-	        BoolExpr exclusionConstraint; 
-	            // Default mutual exclusion: not both true
-	        exclusionConstraint = ctx.mkNot(ctx.mkAnd(var1, var2));
-	        
-	        // Add to solver
-	        solver.add(exclusionConstraint);
-
-	    }
-	}
 
 
 
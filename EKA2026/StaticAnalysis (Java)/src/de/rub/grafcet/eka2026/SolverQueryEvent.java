@@ -0,0 +1,134 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.List;
+
+import com.microsoft.z3.Statistics;
+import com.microsoft.z3.Z3Exception;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import terms.Operator;
+import terms.Term;
+
+// Flight Recorder event per transition query. Z3 statistics are only read while a recording is running,
+// without a recording the event costs an allocation and two checks.
+// Record with: jcmd <pid> JFR.start name=analysis filename=analysis.jfr
+@Name("de.rub.grafcet.eka2026.SolverQuery")
+@Label("Solver Query")
+@Category({"GRAFCET", "Static Analysis"})
+@Description("One transition condition checked against an exclusion table")
+@StackTrace(false)
+public class SolverQueryEvent extends jdk.jfr.Event {
+
+	@Label("Partial Grafcet")
+	String partialGrafcet;
+
+	@Label("Transition ID")
+	int transitionId;
+
+	@Label("Formula Nodes")
+	@Description("Terms in the transition condition")
+	int formulaNodes;
+
+	@Label("Exclusion Constraints")
+	int exclusionConstraints;
+
+	@Label("Result")
+	@Description("sat, unsat or error")
+	String result;
+
+	@Label("Unsat Core Size")
+	int unsatCoreSize;
+
+	@Label("Cached")
+	@Description("Answered from the result cache, no solver statistics")
+	boolean cached;
+
+	@Label("Fast Path")
+	@Description("Decided by the propositional fast path, no solver statistics")
+	boolean fastPath;
+
+	// deltas over the query including the core extraction, Z3 statistics are cumulative per solver
+	@Label("Solver Checks")
+	long solverChecks;
+
+	@Label("Conflicts")
+	long conflicts;
+
+	@Label("Decisions")
+	long decisions;
+
+	@Label("Propagations")
+	long propagations;
+
+	@Label("Resource Limit Count")
+	long rlimitCount;
+
+	@Label("Z3 Memory")
+	@DataAmount(DataAmount.BYTES)
+	long memory;
+
+	void cacheHit() {
+		cached = true;
+	}
+
+	void solvedInJava() {
+		fastPath = true;
+	}
+
+	void solved(Statistics before, Statistics after) {
+		solverChecks = delta(before, after, "num checks");
+		conflicts = delta(before, after, "conflicts");
+		decisions = delta(before, after, "decisions");
+		propagations = delta(before, after, "propagations");
+		rlimitCount = delta(before, after, "rlimit count");
+		// reported by Z3 in megabytes
+		memory = (long) (value(after, "memory") * 1024 * 1024);
+	}
+
+	void finish(TransitionIndex.IndexedTransition indexedTransition, int exclusionConstraints, SolverResult solverResult) {
+		this.partialGrafcet = indexedTransition.getPartialGrafcet().getName();
+		this.transitionId = indexedTransition.getTransition().getId();
+		this.formulaNodes = countNodes(indexedTransition.getTransition().getTerm());
+		this.exclusionConstraints = exclusionConstraints;
+		this.result = solverResult.isError() ? "error" : solverResult.isSatisfiable() ? "sat" : "unsat";
+		this.unsatCoreSize = solverResult.getUnsatCore() == null ? 0 : solverResult.getUnsatCore().length;
+	}
+
+	static int countNodes(Term term) {
+		int nodes = 1;
+		if (term instanceof Operator) {
+			List<Term> subterms = ((Operator) term).getSubterm();
+			for (Term subterm : subterms) {
+				nodes += countNodes(subterm);
+			}
+		}
+		return nodes;
+	}
+
+	private static long delta(Statistics before, Statistics after, String key) {
+		long first = (long) value(before, key);
+		long second = (long) value(after, key);
+		return second >= first ? second - first : second;
+	}
+
+	private static double value(Statistics statistics, String key) {
+		if (statistics == null) {
+			return 0;
+		}
+		try {
+			Statistics.Entry entry = statistics.get(key);
+			if (entry == null) {
+				return 0;
+			}
+			return entry.isUInt() ? entry.getUIntValue() : entry.getDoubleValue();
+		} catch (Z3Exception e) {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SolverResult {
+	private final boolean satisfiable;
+	// indices into the exclusion table, ascending; null when satisfiable or when no core was computed
+	private final int[] unsatCore;
+	// the query could not be decided (unsupported term, Z3 exception or unknown); reported as not satisfiable
+	private final boolean error;
+
+	public SolverResult(boolean satisfiable, int[] unsatCore) {
+		this(satisfiable, unsatCore, false);
+	}
+
+	private SolverResult(boolean satisfiable, int[] unsatCore, boolean error) {
+		this.satisfiable = satisfiable;
+		this.unsatCore = unsatCore;
+		this.error = error;
+	}
+
+	public static SolverResult error() {
+		return new SolverResult(false, null, true);
+	}
+
+	public boolean isSatisfiable() {
+		return satisfiable;
+	}
+
+	public boolean isError() {
+		return error;
+	}
+
+	public int[] getUnsatCore() {
+		return unsatCore;
+	}
+
+	// Component/Var1/Var2/Reason of every row in the core
+	public List<String> describeUnsatCore(ExclusionTable exclusionTable) {
+		List<String> rows = new ArrayList<>();
+		if (unsatCore == null) {
+			return rows;
+		}
+		for (int index : unsatCore) {
+			rows.add(exclusionTable.describe(index));
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,111 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Results per (canonical formula, exclusion table). Safe to share between sessions and threads,
+// so every distinct query reaches the solver once per run. With a PersistentResultStore behind it,
+// queries answered in an earlier run do not reach the solver at all.
+public class SolverResultCache {
+
+	public static class QueryKey {
+		private final String canonicalFormula;
+		private final long exclusionSetHash;
+
+		public QueryKey(String canonicalFormula, long exclusionSetHash) {
+			this.canonicalFormula = canonicalFormula;
+			this.exclusionSetHash = exclusionSetHash;
+		}
+
+		public String getCanonicalFormula() {
+			return canonicalFormula;
+		}
+
+		public long getExclusionSetHash() {
+			return exclusionSetHash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof QueryKey)) {
+				return false;
+			}
+			QueryKey key = (QueryKey) other;
+			return exclusionSetHash == key.exclusionSetHash && canonicalFormula.equals(key.canonicalFormula);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * canonicalFormula.hashCode() + Long.hashCode(exclusionSetHash);
+		}
+	}
+
+	private final Map<QueryKey, SolverResult> results = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder storeHits = new LongAdder();
+	private volatile PersistentResultStore persistentStore;
+
+	public void setPersistentStore(PersistentResultStore persistentStore) {
+		this.persistentStore = persistentStore;
+	}
+
+	public PersistentResultStore getPersistentStore() {
+		return persistentStore;
+	}
+
+	// the solver runs outside of the map so long queries do not block other keys;
+	// two threads missing the same key at once may both solve it, the first stored result wins
+	public SolverResult getOrSolve(QueryKey key, Supplier<SolverResult> solve) {
+		SolverResult cached = results.get(key);
+		if (cached != null) {
+			hits.increment();
+			return cached;
+		}
+		PersistentResultStore store = persistentStore;
+		if (store != null) {
+			SolverResult stored = store.get(key);
+			if (stored != null) {
+				storeHits.increment();
+				SolverResult previous = results.putIfAbsent(key, stored);
+				return previous != null ? previous : stored;
+			}
+		}
+		misses.increment();
+		SolverResult result = solve.get();
+		if (result.isError()) {
+			// not cached, a later run may succeed
+			return result;
+		}
+		if (store != null) {
+			store.put(key, result);
+		}
+		SolverResult previous = results.putIfAbsent(key, result);
+		return previous != null ? previous : result;
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	// answered by the persistent store, counted separately from hits and misses
+	public long getStoreHits() {
+		return storeHits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public int size() {
+		return results.size();
+	}
+
+	@Override
+	public String toString() {
+		return "Solver cache: " + getHits() + " hits, " + getStoreHits() + " from the result store, " + getMisses() + " misses, "
+				+ size() + " distinct queries";
+	}
+}
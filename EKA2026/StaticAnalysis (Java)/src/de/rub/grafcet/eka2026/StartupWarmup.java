@@ -0,0 +1,46 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.IOException;
+import java.util.List;
+
+import de.hsu.grafcet.Grafcet;
+import de.hsu.grafcet.GrafcetPackage;
+
+// Training run for the AppCDS archive of scripts/grafcet-analysis.sh: runs every model below a folder against
+// every table of a csv folder once, so the archive gets the EMF, metamodel, analysis and Z3 classes a real run
+// loads. Nothing is written besides the archive itself (no model cache, no result store).
+public class StartupWarmup {
+
+	// args: modelsRoot csvFolder
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.out.println("Usage: StartupWarmup modelsRoot csvFolder");
+			return;
+		}
+		GrafcetPackage.eINSTANCE.eClass();
+		List<String> modelPaths = DirectoryBatchRunner.listModels(args[0]);
+		List<String> csvPaths = MultiTableAnalysis.listTables(args[1]);
+		SMT_Solver smtSolver = new SMT_Solver();
+		int analyses = 0;
+		models:
+		for (String modelPath : modelPaths) {
+			Grafcet grafcet = grafcetFunctions.loadGrafcet(modelPath);
+			if (grafcet == null) {
+				continue;
+			}
+			TransitionIndex transitionIndex = TransitionIndex.build(grafcet, smtSolver.getMetrics());
+			for (String csvPath : csvPaths) {
+				try {
+					grafcetFunctions.staticAnalysisAlgorithm(ExclusionTable.read(csvPath), transitionIndex, smtSolver);
+					analyses++;
+				} catch (LinkageError e) {
+					// no Z3 on this machine: the archive still covers everything up to the solver. After a failed link
+					// every further use of Z3 fails as well (NoClassDefFoundError), so the warm-up ends here.
+					System.out.println("Warm-up stopped without Z3: " + e);
+					break models;
+				}
+			}
+		}
+		System.out.println("Warm-up done: " + modelPaths.size() + " models, " + csvPaths.size() + " tables, " + analyses + " analyses");
+	}
+}
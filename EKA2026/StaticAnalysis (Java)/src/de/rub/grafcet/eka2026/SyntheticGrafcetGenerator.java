@@ -0,0 +1,235 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import de.hsu.grafcet.Grafcet;
+import de.hsu.grafcet.GrafcetFactory;
+import de.hsu.grafcet.PartialGrafcet;
+import de.hsu.grafcet.Transition;
+import terms.IntegerConstant;
+import terms.Operator;
+import terms.Term;
+import terms.TermsFactory;
+import terms.Variable;
+import terms.VariableDeclaration;
+import terms.VariableDeclarationContainer;
+import terms.VariableDeclarationType;
+
+// Builds synthetic models of any size for scaling measurements, with an exclusion table to match.
+// Transition conditions are conjunctions like in the Schumacher models: AND/OR trees over (negated) variables,
+// rising and falling edges and integer comparisons. Everything is derived from the seed, the same settings
+// always give the same model and table.
+public class SyntheticGrafcetGenerator {
+
+	public static class Settings {
+		public long seed = 1;
+		public int partialGrafcets = 4;
+		public int transitionsPerPartialGrafcet = 25;
+		public int booleanVariables = 40;
+		public int integerVariables = 4;
+		// share of boolean variables declared as OUTPUT
+		public double outputShare = 0.2;
+		// levels of AND/OR below the top-level AND, 0 = flat conjunction
+		public int termDepth = 2;
+		public int maxOperands = 3;
+		public double edgeProbability = 0.1;
+		public double comparisonProbability = 0.1;
+		public int maxConstant = 10;
+		public int exclusionRows = 20;
+		// share of exclusion rows built from literals of one transition, the rest pairs random variables
+		public double matchingRowShare = 0.8;
+	}
+
+	private final Settings settings;
+	private final Random random;
+	private final List<VariableDeclaration> booleanDeclarations = new ArrayList<>();
+	private final List<VariableDeclaration> integerDeclarations = new ArrayList<>();
+	// "x" or "NOT[x]" per transition, the material for matching exclusion rows
+	private final List<List<String>> transitionLiterals = new ArrayList<>();
+	private int nextTermId = 1;
+
+	public SyntheticGrafcetGenerator(Settings settings) {
+		this.settings = settings;
+		this.random = new Random(settings.seed);
+	}
+
+	public Grafcet generateGrafcet() {
+		Grafcet grafcet = GrafcetFactory.eINSTANCE.createGrafcet();
+		grafcet.setName("synthetic_" + settings.seed);
+
+		VariableDeclarationContainer container = TermsFactory.eINSTANCE.createVariableDeclarationContainer();
+		int outputs = (int) Math.round(settings.booleanVariables * settings.outputShare);
+		for (int i = 0; i < settings.booleanVariables; i++) {
+			VariableDeclaration declaration = TermsFactory.eINSTANCE.createVariableDeclaration();
+			declaration.setName("Var" + i);
+			declaration.setVariableDeclarationType(i < outputs ? VariableDeclarationType.OUTPUT : VariableDeclarationType.INPUT);
+			declaration.setSort(TermsFactory.eINSTANCE.createBool());
+			container.getVariableDeclarations().add(declaration);
+			booleanDeclarations.add(declaration);
+		}
+		for (int i = 0; i < settings.integerVariables; i++) {
+			VariableDeclaration declaration = TermsFactory.eINSTANCE.createVariableDeclaration();
+			declaration.setName("Count" + i);
+			declaration.setVariableDeclarationType(VariableDeclarationType.INPUT);
+			declaration.setSort(TermsFactory.eINSTANCE.createInteger());
+			container.getVariableDeclarations().add(declaration);
+			integerDeclarations.add(declaration);
+		}
+		grafcet.setVariableDeclarationContainer(container);
+
+		int transitionId = 1;
+		for (int p = 0; p < settings.partialGrafcets; p++) {
+			PartialGrafcet partialGrafcet = GrafcetFactory.eINSTANCE.createPartialGrafcet();
+			partialGrafcet.setName("G" + p);
+			for (int t = 0; t < settings.transitionsPerPartialGrafcet; t++) {
+				Transition transition = GrafcetFactory.eINSTANCE.createTransition();
+				transition.setId(transitionId++);
+				List<String> literals = new ArrayList<>();
+				Operator conjunction = TermsFactory.eINSTANCE.createAnd();
+				addOperands(conjunction, settings.termDepth, literals);
+				transition.setTerm(withId(conjunction));
+				partialGrafcet.getTransitions().add(transition);
+				transitionLiterals.add(literals);
+			}
+			grafcet.getPartialGrafcets().add(partialGrafcet);
+		}
+		return grafcet;
+	}
+
+	private void addOperands(Operator operator, int depth, List<String> literals) {
+		int operands = 2 + random.nextInt(Math.max(1, settings.maxOperands - 1));
+		for (int i = 0; i < operands; i++) {
+			operator.getSubterm().add(generateTerm(depth, literals));
+		}
+	}
+
+	private Term generateTerm(int depth, List<String> literals) {
+		if (depth > 0 && random.nextInt(3) == 0) {
+			Operator operator = random.nextBoolean() ? TermsFactory.eINSTANCE.createAnd() : TermsFactory.eINSTANCE.createOr();
+			addOperands(operator, depth - 1, literals);
+			return withId(operator);
+		}
+		double choice = random.nextDouble();
+		if (choice < settings.comparisonProbability && !integerDeclarations.isEmpty()) {
+			return comparison();
+		}
+		if (choice < settings.comparisonProbability + settings.edgeProbability) {
+			Operator edge = random.nextBoolean() ? TermsFactory.eINSTANCE.createRisingEdge() : TermsFactory.eINSTANCE.createFallingEdge();
+			edge.getSubterm().add(variable(pick(booleanDeclarations)));
+			return withId(edge);
+		}
+		VariableDeclaration declaration = pick(booleanDeclarations);
+		boolean negated = random.nextBoolean();
+		// output variables are left out of the formatted condition, so they never make a matching row
+		if (declaration.getVariableDeclarationType() != VariableDeclarationType.OUTPUT) {
+			literals.add(negated ? "NOT[" + declaration.getName() + "]" : declaration.getName());
+		}
+		if (!negated) {
+			return variable(declaration);
+		}
+		Operator not = TermsFactory.eINSTANCE.createNot();
+		not.getSubterm().add(variable(declaration));
+		return withId(not);
+	}
+
+	private Term comparison() {
+		int kind = random.nextInt(3);
+		Operator comparison = kind == 0 ? TermsFactory.eINSTANCE.createEquality()
+				: kind == 1 ? TermsFactory.eINSTANCE.createLessThan() : TermsFactory.eINSTANCE.createGreaterThan();
+		comparison.getSubterm().add(variable(pick(integerDeclarations)));
+		IntegerConstant constant = TermsFactory.eINSTANCE.createIntegerConstant();
+		constant.setValue(random.nextInt(settings.maxConstant + 1));
+		comparison.getSubterm().add(withId(constant));
+		return withId(comparison);
+	}
+
+	private Variable variable(VariableDeclaration declaration) {
+		Variable variable = TermsFactory.eINSTANCE.createVariable();
+		variable.setVariableDeclaration(declaration);
+		return withId(variable);
+	}
+
+	private <T extends Term> T withId(T term) {
+		term.setId(nextTermId++);
+		return term;
+	}
+
+	private <T> T pick(List<T> list) {
+		return list.get(random.nextInt(list.size()));
+	}
+
+	// call after generateGrafcet(); rows in the format of csvTablesFolder
+	public List<String> generateExclusionRows() {
+		List<String> inputs = new ArrayList<>();
+		for (VariableDeclaration declaration : booleanDeclarations) {
+			if (declaration.getVariableDeclarationType() != VariableDeclarationType.OUTPUT) {
+				inputs.add(declaration.getName());
+			}
+		}
+		Set<String> rows = new LinkedHashSet<>();
+		int attempts = 0;
+		while (rows.size() < settings.exclusionRows && attempts++ < settings.exclusionRows * 20) {
+			String var1;
+			String var2;
+			List<String> literals = transitionLiterals.isEmpty() ? null : pick(transitionLiterals);
+			if (literals != null && literals.size() >= 2 && random.nextDouble() < settings.matchingRowShare) {
+				var1 = pick(literals);
+				var2 = pick(literals);
+			} else if (inputs.size() >= 2) {
+				var1 = pick(inputs);
+				var2 = pick(inputs);
+			} else {
+				break;
+			}
+			if (!ExclusionTable.stripNegation(var1).equals(ExclusionTable.stripNegation(var2))) {
+				rows.add("Component" + (rows.size() % 10) + ";" + var1 + ";" + var2 + ";synthetic");
+			}
+		}
+		return new ArrayList<>(rows);
+	}
+
+	public static void saveExclusionTable(List<String> rows, String filePath) {
+		try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+			writer.write("Component;Var1;Var2;Reason\r\n");
+			for (String row : rows) {
+				writer.write(row);
+				writer.write("\r\n");
+			}
+			System.out.println("Saved exclusion table to: " + filePath);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	// args: outputFolder [partialGrafcets] [transitionsPerPartialGrafcet] [booleanVariables] [termDepth] [exclusionRows] [seed]
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			System.out.println("Usage: SyntheticGrafcetGenerator outputFolder [partialGrafcets] [transitionsPerPartialGrafcet] [booleanVariables] [termDepth] [exclusionRows] [seed]");
+			return;
+		}
+		Settings settings = new Settings();
+		if (args.length > 1) settings.partialGrafcets = java.lang.Integer.parseInt(args[1]);
+		if (args.length > 2) settings.transitionsPerPartialGrafcet = java.lang.Integer.parseInt(args[2]);
+		if (args.length > 3) settings.booleanVariables = java.lang.Integer.parseInt(args[3]);
+		if (args.length > 4) settings.termDepth = java.lang.Integer.parseInt(args[4]);
+		if (args.length > 5) settings.exclusionRows = java.lang.Integer.parseInt(args[5]);
+		if (args.length > 6) settings.seed = Long.parseLong(args[6]);
+
+		File folder = new File(args[0]);
+		folder.mkdirs();
+		String name = "synthetic_" + settings.partialGrafcets * settings.transitionsPerPartialGrafcet + "_" + settings.seed;
+		SyntheticGrafcetGenerator generator = new SyntheticGrafcetGenerator(settings);
+		grafcetFunctions.saveGrafcet(generator.generateGrafcet(), new File(folder, name + ".grafcet").getPath());
+		saveExclusionTable(generator.generateExclusionRows(), new File(folder, name + ".csv").getPath());
+	}
+}
@@ -0,0 +1,150 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.microsoft.z3.ArithExpr;
+import com.microsoft.z3.BitVecExpr;
+import com.microsoft.z3.BoolExpr;
+import com.microsoft.z3.Context;
+import com.microsoft.z3.IntExpr;
+import com.microsoft.z3.IntSort;
+
+import terms.Term;
+
+// Compiles a transition term straight into Z3 expressions, without the AND[...] string and the two parsers
+// of SMT_Solver. The term is first converted into the session's FormulaDag and every node is compiled once,
+// so the previous-cycle copies of edges ("_beforeRE" / "_beforeFE") and subterms shared between transitions
+// become shared Z3 expressions. Bounded integers arrive bit-blasted or as bit-vector comparisons.
+// OUTPUT variables are compiled like all others, as free constants, while the formatted condition and
+// TransitionIndex leave them out. Exclusion rows describe inputs, an output is whatever the controller sets:
+// no matched row names one, so a free constant is exact, whereas dropping the variable would change the
+// formula wherever it sits under an OR or a NOT.
+public class TermToZ3Compiler {
+	private final Context ctx;
+	private final Map<String, BoolExpr> boolVars;
+	private final Map<String, IntExpr> intVars;
+	private final FormulaDag formulaDag;
+	// per node; Boolean and integer use of the same variable node are different Z3 constants
+	private final Map<FormulaDag.Node, BoolExpr> compiledBool = new HashMap<>();
+	private final Map<FormulaDag.Node, ArithExpr<IntSort>> compiledInt = new HashMap<>();
+
+	public TermToZ3Compiler(Context ctx, Map<String, BoolExpr> boolVars, Map<String, IntExpr> intVars, FormulaDag formulaDag) {
+		this.ctx = ctx;
+		this.boolVars = boolVars;
+		this.intVars = intVars;
+		this.formulaDag = formulaDag;
+	}
+
+	public BoolExpr compile(Term term) {
+		return compile(formulaDag.node(term));
+	}
+
+	public BoolExpr compile(FormulaDag.Node formula) {
+		return compileBool(formula);
+	}
+
+	// call after FormulaDag.clear(), node identities start over
+	public void clear() {
+		compiledBool.clear();
+		compiledInt.clear();
+	}
+
+	public BoolExpr boolVar(String name) {
+		return boolVars.computeIfAbsent(name, v -> ctx.mkBoolConst(v));
+	}
+
+	public IntExpr intVar(String name) {
+		return intVars.computeIfAbsent(name, v -> ctx.mkIntConst(v));
+	}
+
+	private BoolExpr compileBool(FormulaDag.Node node) {
+		BoolExpr compiled = compiledBool.get(node);
+		if (compiled == null) {
+			compiled = buildBool(node);
+			compiledBool.put(node, compiled);
+		}
+		return compiled;
+	}
+
+	private BoolExpr buildBool(FormulaDag.Node node) {
+		FormulaDag.Node[] children = node.getChildren();
+		switch (node.getKind()) {
+			case VARIABLE:
+				return boolVar(node.getLabel());
+			case TRUE:
+				return ctx.mkTrue();
+			case FALSE:
+				return ctx.mkFalse();
+			case NOT:
+				return ctx.mkNot(compileBool(children[0]));
+			case AND:
+				return ctx.mkAnd(compileBoolList(children));
+			case OR:
+				return ctx.mkOr(compileBoolList(children));
+			case IFF:
+				return ctx.mkIff(compileBool(children[0]), compileBool(children[1]));
+			case EQUAL:
+				return ctx.mkEq(compileInt(children[0]), compileInt(children[1]));
+			case LESS:
+				return ctx.mkLt(compileInt(children[0]), compileInt(children[1]));
+			case GREATER:
+				return ctx.mkGt(compileInt(children[0]), compileInt(children[1]));
+			case BV_LESS:
+				return ctx.mkBVULT(bitVector(children[0]), bitVectorValue(children[0], children[1]));
+			case BV_EQUAL:
+				return ctx.mkEq(bitVector(children[0]), bitVectorValue(children[0], children[1]));
+			default:
+				throw new IllegalArgumentException("Unsupported Boolean term: " + node.getKind());
+		}
+	}
+
+	private ArithExpr<IntSort> compileInt(FormulaDag.Node node) {
+		ArithExpr<IntSort> compiled = compiledInt.get(node);
+		if (compiled == null) {
+			compiled = buildInt(node);
+			compiledInt.put(node, compiled);
+		}
+		return compiled;
+	}
+
+	@SuppressWarnings("unchecked")
+	private ArithExpr<IntSort> buildInt(FormulaDag.Node node) {
+		switch (node.getKind()) {
+			case INTEGER:
+				return ctx.mkInt(java.lang.Integer.parseInt(node.getLabel()));
+			case VARIABLE:
+				return intVar(node.getLabel());
+			case ADD: {
+				FormulaDag.Node[] children = node.getChildren();
+				ArithExpr<IntSort>[] summands = new ArithExpr[children.length];
+				for (int i = 0; i < summands.length; i++) {
+					summands[i] = compileInt(children[i]);
+				}
+				return ctx.mkAdd(summands);
+			}
+			default:
+				throw new IllegalArgumentException("Unsupported integer term: " + node.getKind());
+		}
+	}
+
+	private BitVecExpr bitVector(FormulaDag.Node node) {
+		return ctx.mkBVConst(node.getLabel(), width(node));
+	}
+
+	private BitVecExpr bitVectorValue(FormulaDag.Node bitVector, FormulaDag.Node value) {
+		return ctx.mkBV(Long.parseLong(value.getLabel()), width(bitVector));
+	}
+
+	private static int width(FormulaDag.Node bitVector) {
+		return java.lang.Integer.parseInt(bitVector.getChildren()[0].getLabel());
+	}
+
+	private BoolExpr[] compileBoolList(FormulaDag.Node[] children) {
+		BoolExpr[] compiled = new BoolExpr[children.length];
+		for (int i = 0; i < compiled.length; i++) {
+			compiled[i] = compileBool(children[i]);
+		}
+		return compiled;
+	}
+}
@@ -21,18 +21,20 @@ public class TransitionExpressionExtractor {
     public static String transitionToString(Transition transition) {
         Term term = transition.getTerm();
         Set<Variable> variables = new LinkedHashSet<>();
-        return buildExpression(term, variables);
+        return buildExpression(term, variables, "");
     }
 
 
-    private static String buildExpression(Term term, Set<Variable> variables) {
+    // suffix is "" or the "_beforeRE" / "_beforeFE" chain of the edges above the term: the previous-cycle copy
+    // of an edge operand is built from the term itself, not by rewriting its string
+    private static String buildExpression(Term term, Set<Variable> variables, String suffix) {
 
 	    if (term instanceof Variable) {
 	        Variable variable = (Variable) term;
 	        if (variable.getVariableDeclaration().getVariableDeclarationType() == VariableDeclarationType.INPUT || variable.getVariableDeclaration().getVariableDeclarationType() == VariableDeclarationType.INTERNAL
 	        		|| variable.getVariableDeclaration().getVariableDeclarationType() == VariableDeclarationType.STEP || (!(variable.getVariableDeclaration().getVariableDeclarationType() == VariableDeclarationType.OUTPUT))) {
 	            variables.add(variable);
-	            return variable.toString();
+	            return variable.toString() + suffix;
 	        }
 	    }
 	    if (term instanceof Operator) {
@@ -40,53 +42,36 @@ public class TransitionExpressionExtractor {
 	        List<Term> subterms = operator.getSubterm();
 	        //System.out.println(term.toString());
 	        if (operator.toString().equals("terms.impl.NotImpl")) {
-	            return "NOT[" + buildExpression(subterms.get(0), variables) + "]";
+	            return "NOT[" + buildExpression(subterms.get(0), variables, suffix) + "]";
 	        }
 
 	        else if (operator.toString().equals("terms.impl.AndImpl")) {
 	            return "AND[" + subterms.stream()
-	                    .map(subterm -> buildExpression(subterm, variables))
+	                    .map(subterm -> buildExpression(subterm, variables, suffix))
 	                    .collect(Collectors.joining(", ")) + "]";
 	        }
 
 	        else if (operator.toString().equals("terms.impl.OrImpl")) {
 	            return "OR[" + subterms.stream()
-	                    .map(subterm -> buildExpression(subterm, variables))
+	                    .map(subterm -> buildExpression(subterm, variables, suffix))
 	                    .collect(Collectors.joining(", ")) + "]";
 	        }
 	        // HERE SHOULD EQ BE ALSO INCLUDED
 
 
 	        else if (operator.toString().equals("terms.impl.RisingEdgeImpl")) {
-
-	    	   String termOfRisingEdge = subterms.stream()
-	       	                    .map(subterm -> buildExpression(subterm, variables))
-	    	                    .collect(Collectors.joining(""));
-
-	    	   if(termOfRisingEdge.contains("AND")) {
-		    	   String firstPart = "AND[" + termOfRisingEdge + ", NOT[" + addBeforeToAndTerms(termOfRisingEdge, "_beforeRE") + "]]";
-		    	   String secondPart = "EQ[" + termOfRisingEdge + ", NOT[" + addBeforeToAndTerms(termOfRisingEdge, "_beforeRE") + "]]";
-		    	   return "AND[" + firstPart + ", " + secondPart + "]";
-	    	   }
-	    	   else {
-	    	   String firstPart = "AND[" + termOfRisingEdge + ", NOT[" + termOfRisingEdge + "_beforeRE]]";
-	    	   String secondPart = "EQ[" + termOfRisingEdge + ", NOT[" + termOfRisingEdge + "_beforeRE]]";
-	    	   return "AND[" + firstPart + ", " + secondPart + "]";
-	    	   }
+	        	String termOfRisingEdge = buildEdgeOperand(subterms, variables, suffix);
+	        	String termBeforeRisingEdge = buildEdgeOperand(subterms, variables, suffix + "_beforeRE");
+	        	String firstPart = "AND[" + termOfRisingEdge + ", NOT[" + termBeforeRisingEdge + "]]";
+	        	String secondPart = "EQ[" + termOfRisingEdge + ", NOT[" + termBeforeRisingEdge + "]]";
+	        	return "AND[" + firstPart + ", " + secondPart + "]";
 	        }
 	        else if (operator.toString().equals("terms.impl.FallingEdgeImpl")) {
-	        	String termOfFallingEdge = subterms.stream()
-	       	                    .map(subterm -> buildExpression(subterm, variables))
-	    	                    .collect(Collectors.joining(""));
-		    	if(termOfFallingEdge.contains("AND")) {
-			    	   String firstPart = "AND[" + termOfFallingEdge + "_beforeFE, NOT[" + addBeforeToAndTerms(termOfFallingEdge, "_beforeRE") + "]]";
-			    	   String secondPart = "EQ[" + termOfFallingEdge + "_beforeFE, NOT[" + addBeforeToAndTerms(termOfFallingEdge, "_beforeRE") + "]]";
-			    	   return "AND[" + firstPart + ", " + secondPart + "]";
-		    	   }
-		    	else {
-	        	String firstPart = "AND[" + termOfFallingEdge + "_beforeFE, NOT[" + termOfFallingEdge + "]]";
-	        	String secondPart = "EQ[" + termOfFallingEdge + "_beforeFE, NOT[" + termOfFallingEdge + "]]";
-	            return "AND[" + firstPart + ", " + secondPart + "]";}
+	        	String termOfFallingEdge = buildEdgeOperand(subterms, variables, suffix);
+	        	String termBeforeFallingEdge = buildEdgeOperand(subterms, variables, suffix + "_beforeFE");
+	        	String firstPart = "AND[" + termBeforeFallingEdge + ", NOT[" + termOfFallingEdge + "]]";
+	        	String secondPart = "EQ[" + termBeforeFallingEdge + ", NOT[" + termOfFallingEdge + "]]";
+	        	return "AND[" + firstPart + ", " + secondPart + "]";
 	        }
 
 
@@ -113,13 +98,13 @@ public class TransitionExpressionExtractor {
 	        	}
 	        	
 	        	if (!(intVariableAsString.equals(""))) {
-	        		return "EQUAL["+ otherVariable.toString() + ", " + intVariableAsString + "]";}
+	        		return "EQUAL["+ operand(otherVariable, suffix) + ", " + intVariableAsString + "]";}
 	        	
 	        	else if(!(booleanConstant.equals(""))) {
-	        		return "EQ["+ otherVariable.toString() + ", " + booleanConstant + "]";}
+	        		return "EQ["+ operand(otherVariable, suffix) + ", " + booleanConstant + "]";}
 	        	
 	        	else {
-	        		return "EQ["+ subtermList.get(0).toString() + ", " + subtermList.get(1).toString() + "]";
+	        		return "EQ["+ operand(subtermList.get(0), suffix) + ", " + operand(subtermList.get(1), suffix) + "]";
 	        	}
 	        }
 
@@ -138,7 +123,7 @@ public class TransitionExpressionExtractor {
 	        			subterm1 = subterm;
 	        		}
 	        	}
-	        	String firstPart = ((Variable)subterm1).getVariableDeclaration().getName();
+	        	String firstPart = ((Variable)subterm1).getVariableDeclaration().getName() + suffix;
 	        	String secondPart =  String.valueOf(intValue);
 	            return "LESS[" + firstPart + ", " + secondPart + "]";
 	        }
@@ -158,68 +143,26 @@ public class TransitionExpressionExtractor {
 	        			subterm1 = subterm;
 	        		}
 	        	}
-	        	String firstPart = ((Variable)subterm1).getVariableDeclaration().getName();
+	        	String firstPart = ((Variable)subterm1).getVariableDeclaration().getName() + suffix;
 	        	String secondPart =  String.valueOf(intValue);
 	            return "GREATER[" + firstPart + ", " + secondPart + "]";
 	        }
 	        return subterms.stream()
-	                .map(subterm -> buildExpression(subterm, variables))
+	                .map(subterm -> buildExpression(subterm, variables, suffix))
 	                .collect(Collectors.joining(", "));
 	    }
 
 	    return "";
 	}
     
-    public static String addBeforeToAndTerms(String expression, String secondString) {
-	    return addBeforeToVariable(expression.trim(), secondString);
+	private static String buildEdgeOperand(List<Term> subterms, Set<Variable> variables, String suffix) {
+	    return subterms.stream()
+	            .map(subterm -> buildExpression(subterm, variables, suffix))
+	            .collect(Collectors.joining(""));
 	}
 
-	private static String addBeforeToVariable(String expr, String suffix) {
-	    if (!expr.contains("[") || !expr.contains("]")) {
-	        return expr.trim() + suffix;
-	    }
-
-	    int operatorEnd = expr.indexOf("[");
-	    String operator = expr.substring(0, operatorEnd).trim();
-
-	    String inner = expr.substring(operatorEnd + 1, expr.length() - 1);
-
-	    StringBuilder result = new StringBuilder();
-	    result.append(operator).append("[");
-
-	    List<String> parts = splitTopLevel(inner);
-	    for (int i = 0; i < parts.size(); i++) {
-	        result.append(addBeforeToVariable(parts.get(i).trim(), suffix));
-	        if (i < parts.size() - 1) {
-	            result.append(", ");
-	        }
-	    }
-
-	    result.append("]");
-	    return result.toString();
-	}
-
-	private static List<String> splitTopLevel(String input) {
-	    List<String> result = new ArrayList<>();
-	    int level = 0;
-	    StringBuilder current = new StringBuilder();
-
-	    for (char c : input.toCharArray()) {
-	        if (c == '[') level++;
-	        if (c == ']') level--;
-	        if (c == ',' && level == 0) {
-	            result.add(current.toString());
-	            current.setLength(0);
-	        } else {
-	            current.append(c);
-	        }
-	    }
-
-	    if (current.length() > 0) {
-	        result.add(current.toString());
-	    }
-
-	    return result;
+	private static String operand(Term term, String suffix) {
+	    return term instanceof Variable ? term.toString() + suffix : term.toString();
 	}
 
 
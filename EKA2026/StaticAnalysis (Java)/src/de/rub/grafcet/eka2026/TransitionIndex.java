@@ -0,0 +1,253 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.hsu.grafcet.Grafcet;
+import de.hsu.grafcet.Transition;
+import terms.Operator;
+import terms.Term;
+import terms.Variable;
+import terms.VariableDeclaration;
+import terms.VariableDeclarationType;
+
+// Built once per model: every transition with its formatted condition and its LiteralSet, and for every literal
+// bit the ordinals of the transitions that contain it. Polarity is the parity of the NOTs above a variable, so
+// "x" and "NOT[x]" only match transitions that use x that way. An exclusion row resolves to its candidate
+// transitions by walking the shorter posting list and testing the other literal in each candidate's bitset.
+public class TransitionIndex {
+
+	public static class IndexedTransition {
+		private final Grafcet partialGrafcet;
+		private final Transition transition;
+		private final String condition;
+		private final int ordinal;
+		private final String reference;
+		private final LiteralSet literals;
+		private final IntegerEncoding.Ranges integerRanges;
+		private volatile String canonicalFormula;
+
+		IndexedTransition(Grafcet partialGrafcet, Transition transition, String condition, int ordinal, String reference, LiteralSet literals,
+				IntegerEncoding.Ranges integerRanges) {
+			this.partialGrafcet = partialGrafcet;
+			this.transition = transition;
+			this.condition = condition;
+			this.ordinal = ordinal;
+			this.reference = reference;
+			this.literals = literals;
+			this.integerRanges = integerRanges;
+		}
+
+		public Grafcet getPartialGrafcet() {
+			return partialGrafcet;
+		}
+
+		public Transition getTransition() {
+			return transition;
+		}
+
+		public String getCondition() {
+			return condition;
+		}
+
+		public int getOrdinal() {
+			return ordinal;
+		}
+
+		// XMI path of the transition in the model, e.g. //@partialGrafcets.0/@transitions.3
+		public String getReference() {
+			return reference;
+		}
+
+		public LiteralSet getLiterals() {
+			return literals;
+		}
+
+		// value ranges of the model's integer variables, shared by all transitions of the index
+		public IntegerEncoding.Ranges getIntegerRanges() {
+			return integerRanges;
+		}
+
+		// computed on first use and kept, so tables analysed against the same index share it
+		public String getCanonicalFormula() {
+			String canonical = canonicalFormula;
+			if (canonical == null) {
+				canonical = CanonicalFormula.of(transition.getTerm());
+				canonicalFormula = canonical;
+			}
+			return canonical;
+		}
+	}
+
+	private static final int[] NO_TRANSITIONS = new int[0];
+
+	private final List<IndexedTransition> transitions = new ArrayList<>();
+	// declaration name -> position in the literal bitsets; tables refer to declarations by name
+	private final Map<String, Integer> declarations = new HashMap<>();
+	private int[][] postings;
+
+	public static TransitionIndex build(Grafcet grafcet) {
+		return build(grafcet, AnalysisMetrics.global());
+	}
+
+	public static TransitionIndex build(Grafcet grafcet, AnalysisMetrics metrics) {
+		TransitionIndex index = new TransitionIndex();
+		if (grafcet.getVariableDeclarationContainer() != null) {
+			for (VariableDeclaration declaration : grafcet.getVariableDeclarationContainer().getVariableDeclarations()) {
+				index.declaration(declaration);
+			}
+		}
+		IntegerEncoding.Ranges integerRanges = IntegerEncoding.Ranges.of(grafcet);
+		for (int p = 0; p < grafcet.getPartialGrafcets().size(); p++) {
+			Grafcet partialGrafcet = grafcet.getPartialGrafcets().get(p);
+			for (int t = 0; t < partialGrafcet.getTransitions().size(); t++) {
+				Transition transition = partialGrafcet.getTransitions().get(t);
+				int ordinal = index.transitions.size();
+				long start = System.nanoTime();
+				String condition = TransitionExpressionExtractor.transitionToString(transition);
+				metrics.record(AnalysisMetrics.Phase.EXTRACT, start);
+				LiteralSet literals = new LiteralSet();
+				index.collectLiterals(transition.getTerm(), literals, false, true);
+				index.transitions.add(new IndexedTransition(partialGrafcet, transition, condition, ordinal,
+						"//@partialGrafcets." + p + "/@transitions." + t, literals, integerRanges));
+			}
+		}
+
+		int[] sizes = new int[index.declarations.size() * LiteralSet.BITS_PER_DECLARATION];
+		List<int[]> bitsPerTransition = new ArrayList<>(index.transitions.size());
+		for (IndexedTransition indexedTransition : index.transitions) {
+			int[] bits = indexedTransition.getLiterals().toArray();
+			bitsPerTransition.add(bits);
+			for (int bit : bits) {
+				sizes[bit]++;
+			}
+		}
+		index.postings = new int[sizes.length][];
+		for (int bit = 0; bit < sizes.length; bit++) {
+			index.postings[bit] = sizes[bit] == 0 ? NO_TRANSITIONS : new int[sizes[bit]];
+		}
+		Arrays.fill(sizes, 0);
+		for (int ordinal = 0; ordinal < bitsPerTransition.size(); ordinal++) {
+			for (int bit : bitsPerTransition.get(ordinal)) {
+				index.postings[bit][sizes[bit]++] = ordinal;
+			}
+		}
+		return index;
+	}
+
+	private int declaration(VariableDeclaration declaration) {
+		return declarations.computeIfAbsent(declaration.getName(), name -> declarations.size());
+	}
+
+	// negated is the parity of the NOTs above the term; booleanPosition mirrors transitionToString, which leaves
+	// out output variables used directly as conditions. Z3 still sees them as free constants, see TermToZ3Compiler
+	private void collectLiterals(Term term, LiteralSet literals, boolean negated, boolean booleanPosition) {
+		if (term instanceof Variable) {
+			VariableDeclaration declaration = ((Variable) term).getVariableDeclaration();
+			if (!booleanPosition) {
+				// comparison operand, polarity has no meaning
+				literals.add(LiteralSet.bit(declaration(declaration), LiteralSet.PLAIN, false));
+				literals.add(LiteralSet.bit(declaration(declaration), LiteralSet.PLAIN, true));
+			} else if (declaration.getVariableDeclarationType() != VariableDeclarationType.OUTPUT) {
+				literals.add(LiteralSet.bit(declaration(declaration), LiteralSet.PLAIN, negated));
+			}
+			return;
+		}
+		if (!(term instanceof Operator)) {
+			return;
+		}
+		List<Term> subterms = ((Operator) term).getSubterm();
+		switch (term.toString()) {
+			case "terms.impl.NotImpl":
+				collectLiterals(subterms.get(0), literals, !negated, booleanPosition);
+				break;
+			case "terms.impl.RisingEdgeImpl":
+				// x AND NOT x_beforeRE
+				collectLiterals(subterms.get(0), literals, negated, booleanPosition);
+				collectEdgeLiterals(subterms.get(0), literals, LiteralSet.BEFORE_RISING_EDGE, !negated);
+				break;
+			case "terms.impl.FallingEdgeImpl":
+				// x_beforeFE AND NOT x
+				collectEdgeLiterals(subterms.get(0), literals, LiteralSet.BEFORE_FALLING_EDGE, negated);
+				collectLiterals(subterms.get(0), literals, !negated, booleanPosition);
+				break;
+			case "terms.impl.EqualityImpl":
+			case "terms.impl.LessThanImpl":
+			case "terms.impl.GreaterThanImpl":
+				for (Term subterm : subterms) {
+					collectLiterals(subterm, literals, false, false);
+				}
+				break;
+			default:
+				for (Term subterm : subterms) {
+					collectLiterals(subterm, literals, negated, booleanPosition);
+				}
+		}
+	}
+
+	private void collectEdgeLiterals(Term term, LiteralSet literals, int variant, boolean negated) {
+		if (term instanceof Variable) {
+			VariableDeclaration declaration = ((Variable) term).getVariableDeclaration();
+			if (declaration.getVariableDeclarationType() != VariableDeclarationType.OUTPUT) {
+				literals.add(LiteralSet.bit(declaration(declaration), variant, negated));
+			}
+		} else if (term instanceof Operator) {
+			for (Term subterm : ((Operator) term).getSubterm()) {
+				collectEdgeLiterals(subterm, literals, variant, "terms.impl.NotImpl".equals(term.toString()) != negated);
+			}
+		}
+	}
+
+	public List<IndexedTransition> getTransitions() {
+		return transitions;
+	}
+
+	// bit of "x", "x_beforeRE" or "x_beforeFE" in the literal bitsets, -1 if the model does not declare x
+	public int literalBit(String name, boolean negated) {
+		Integer declaration = declarations.get(name);
+		int variant = LiteralSet.PLAIN;
+		if (declaration == null && name.endsWith("_beforeRE")) {
+			declaration = declarations.get(name.substring(0, name.length() - "_beforeRE".length()));
+			variant = LiteralSet.BEFORE_RISING_EDGE;
+		} else if (declaration == null && name.endsWith("_beforeFE")) {
+			declaration = declarations.get(name.substring(0, name.length() - "_beforeFE".length()));
+			variant = LiteralSet.BEFORE_FALLING_EDGE;
+		}
+		return declaration == null ? -1 : LiteralSet.bit(declaration, variant, negated);
+	}
+
+	public int[] postingList(int bit) {
+		return bit < 0 ? NO_TRANSITIONS : postings[bit];
+	}
+
+	// "x", "NOT[x]" and "NOT(x)" as written in the exclusion tables
+	public int[] postingList(String variable) {
+		String name = ExclusionTable.stripNegation(variable);
+		return postingList(literalBit(name, !name.equals(variable.trim())));
+	}
+
+	// for every transition the indices of the exclusion rows whose two literals it contains, in table order
+	public List<List<Integer>> matchRows(ExclusionTable exclusionTable) {
+		List<List<Integer>> rowsPerTransition = new ArrayList<>(transitions.size());
+		for (int t = 0; t < transitions.size(); t++) {
+			rowsPerTransition.add(new ArrayList<>());
+		}
+		for (int rowIndex = 0; rowIndex < exclusionTable.size(); rowIndex++) {
+			int bit1 = literalBit(exclusionTable.variableName(exclusionTable.var1Id(rowIndex)), exclusionTable.isVar1Negated(rowIndex));
+			int bit2 = literalBit(exclusionTable.variableName(exclusionTable.var2Id(rowIndex)), exclusionTable.isVar2Negated(rowIndex));
+			if (bit1 < 0 || bit2 < 0) {
+				continue;
+			}
+			int[] shorter = postings[bit1].length <= postings[bit2].length ? postings[bit1] : postings[bit2];
+			for (int ordinal : shorter) {
+				if (transitions.get(ordinal).getLiterals().containsBoth(bit1, bit2)) {
+					rowsPerTransition.get(ordinal).add(rowIndex);
+				}
+			}
+		}
+		return rowsPerTransition;
+	}
+}
@@ -0,0 +1,36 @@
+package de.rub.grafcet.eka2026;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Interns names to dense integer ids, so every distinct name is stored once however often it occurs.
+public class VariableDictionary {
+	private final Map<String, Integer> ids = new HashMap<>();
+	private final List<String> names = new ArrayList<>();
+
+	public int intern(String name) {
+		Integer id = ids.get(name);
+		if (id == null) {
+			id = names.size();
+			ids.put(name, id);
+			names.add(name);
+		}
+		return id;
+	}
+
+	// -1 if the name was never interned
+	public int id(String name) {
+		Integer id = ids.get(name);
+		return id == null ? -1 : id;
+	}
+
+	public String name(int id) {
+		return names.get(id);
+	}
+
+	public int size() {
+		return names.size();
+	}
+}
@@ -0,0 +1,49 @@
+package de.rub.grafcet.eka2026;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+// Base of the file sinks: owns the (buffered) writer and turns its IOExceptions into UncheckedIOException,
+// which ends the analysis like any other failure of a finding.
+public abstract class WriterResultSink implements ResultSink {
+	private final Writer writer;
+
+	protected WriterResultSink(Writer writer) {
+		this.writer = writer;
+	}
+
+	protected void write(String text) {
+		try {
+			writer.write(text);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// written once before close, e.g. the closing tag
+	protected void writeEnd() {
+	}
+
+	@Override
+	public void flush() {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			writeEnd();
+		} finally {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+}
@@ -1,9 +1,14 @@
 package de.rub.grafcet.eka2026;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 
 import org.eclipse.emf.common.util.URI;
@@ -15,11 +20,17 @@ import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
 import com.microsoft.z3.BoolExpr;
 
 import de.hsu.grafcet.Grafcet;
-import de.hsu.grafcet.Transition;
 
 public class grafcetFunctions {
+	// several chunks per session keep the workers busy when transitions differ in cost
+	private static final int CHUNKS_PER_SESSION = 4;
+	private static final Pattern TWO_VARIABLE_CONJUNCTION = Pattern.compile("^AND\\[\\s*([A-Za-z0-9_]+)\\s*,\\s*([A-Za-z0-9_]+)\\s*\\]$");
+
 	public static void saveGrafcet(Grafcet grafcet, String filePath) {
 	    try {
+	        Resource.Factory.Registry.INSTANCE.getExtensionToFactoryMap()
+	            .put("grafcet", new XMIResourceFactoryImpl());
+
 	        ResourceSet resourceSet = new ResourceSetImpl();
 	        URI uri = URI.createFileURI(filePath);
 
@@ -33,6 +44,7 @@ public class grafcetFunctions {
 	}
 
     public static Grafcet loadGrafcet(String filePath) {
+        long start = System.nanoTime();
         try {
             
             Resource.Factory.Registry.INSTANCE.getExtensionToFactoryMap()
@@ -48,71 +60,230 @@ public class grafcetFunctions {
         } catch (Exception e) {
             e.printStackTrace();
             return null;
+        } finally {
+            AnalysisMetrics.global().record(AnalysisMetrics.Phase.LOAD, start);
         }
     }
     
     
     public static List<Map<String, String>> staticAnalysisAlgorithm(List<Map<String, String>> csvExclusionsFile, Grafcet grafcet, SMT_Solver smtSolver){
+    	return staticAnalysisAlgorithm(ExclusionTable.fromRows(csvExclusionsFile), TransitionIndex.build(grafcet, smtSolver.getMetrics()), smtSolver);
+    }
+    
+    public static List<Map<String, String>> staticAnalysisAlgorithm(ExclusionTable exclusionTable, Grafcet grafcet, SMT_Solver smtSolver){
+    	return staticAnalysisAlgorithm(exclusionTable, TransitionIndex.build(grafcet, smtSolver.getMetrics()), smtSolver);
+    }
+    
+    public static List<Map<String, String>> staticAnalysisAlgorithm(ExclusionTable exclusionTable, TransitionIndex transitionIndex, SMT_Solver smtSolver){
+    	List<Map<String, String>> outputTable = new ArrayList<>();
+    	staticAnalysisAlgorithm(exclusionTable, transitionIndex, smtSolver, finding -> outputTable.add(finding.toRow()));
+    	return outputTable;
+    }
+    
+    public static void staticAnalysisAlgorithm(ExclusionTable exclusionTable, TransitionIndex transitionIndex, SMT_Solver smtSolver, ResultSink sink){
+    	try (AnalysisSession session = smtSolver.openSession(exclusionTable)) {
+    		staticAnalysisAlgorithm(exclusionTable, transitionIndex, session, sink);
+    	}
+    }
+    
+    // with a session the caller keeps open, e.g. a warm one of the AnalysisServer
+    public static List<Map<String, String>> staticAnalysisAlgorithm(ExclusionTable exclusionTable, TransitionIndex transitionIndex, AnalysisSession session){
+    	List<Map<String, String>> outputTable = new ArrayList<>();
+    	staticAnalysisAlgorithm(exclusionTable, transitionIndex, session, finding -> outputTable.add(finding.toRow()));
+    	return outputTable;
+    }
+    
+    // findings go to the sink as each transition is decided, nothing is collected
+    public static void staticAnalysisAlgorithm(ExclusionTable exclusionTable, TransitionIndex transitionIndex, AnalysisSession session, ResultSink sink){
+    	// exclusion rows are resolved to their transitions through the index instead of matching every row against every transition
+    	List<List<Integer>> rowsPerTransition = matchRows(exclusionTable, transitionIndex, session.getMetrics());
+    	for (TransitionIndex.IndexedTransition indexedTransition : transitionIndex.getTransitions()) {
+    		List<Integer> matchedRows = rowsPerTransition.get(indexedTransition.getOrdinal());
+    		analyzeTransition(indexedTransition, matchedRows, session, exclusionTable, sink);
+    	}
+    	sink.flush();
+    }
+    
+    public static List<Map<String, String>> staticAnalysisAlgorithm(ExclusionTable exclusionTable, TransitionIndex transitionIndex, SMT_Solver smtSolver,
+    		ExecutorService executor, int maxSessions){
     	List<Map<String, String>> outputTable = new ArrayList<>();
-    	for(Grafcet partialGrafcet: grafcet.getPartialGrafcets()){
-			for(Transition transition: partialGrafcet.getTransitions()) {
-				String formatedTransition = TransitionExpressionExtractor.transitionToString(transition);			
-				for (Map<String, String> row : csvExclusionsFile) {
-				    String var1 = row.get("Var1");
-				    String var2 = row.get("Var2");
-	
-				    // skip rows with missing data
-				    if (var1 == null || var2 == null) {
-				        continue;
-				    }
-	
-				    // build regex patterns to match whole words (tokens)
-				    String regexVar1 = ".*\\b" + Pattern.quote(var1) + "\\b.*";
-				    String regexVar2 = ".*\\b" + Pattern.quote(var2) + "\\b.*";
-	
-				    boolean containsVar1 = formatedTransition.matches(regexVar1);
-				    boolean containsVar2 = formatedTransition.matches(regexVar2);
-				    if (containsVar1 && containsVar2) {
-				    	
-				    	Map<String, String> rowOutputTable = new HashMap<>();
-				    	String regex = "^AND\\[\\s*([A-Za-z0-9_]+)\\s*,\\s*([A-Za-z0-9_]+)\\s*\\]$";
-				    	
-				    	if (formatedTransition.matches(regex))
-				    	{
-					    	rowOutputTable.put("PartialGrafcetName", partialGrafcet.getName());
-					    	rowOutputTable.put("TransitionID", String.valueOf(transition.getId()));
-					    	rowOutputTable.put("TransitionCondition", formatedTransition);
-					    	rowOutputTable.put("Satisfiability", "Not Satisfied"); 
-				    	} 
-				    	else {			    	   
-				    		boolean inputIsSatisfied = smtSolver.checkIsSatisfiableZ3(formatedTransition, csvExclusionsFile);
-					    	rowOutputTable.put("PartialGrafcetName", partialGrafcet.getName());
-					    	rowOutputTable.put("TransitionID", String.valueOf(transition.getId()));
-					    	rowOutputTable.put("TransitionCondition", formatedTransition);
-					    	if(inputIsSatisfied) 
-					    	{
-					    		rowOutputTable.put("Satisfiability", String.valueOf(inputIsSatisfied) + " - redundantly designed?"); 
-					    	}
-				    	else 
-				    		{
-				    		rowOutputTable.put("Satisfiability", String.valueOf(inputIsSatisfied)); 
-				    		}
-				    	}
-				    	outputTable.add(rowOutputTable);
-				    }
-				}
-			}
-		}
+    	staticAnalysisAlgorithm(exclusionTable, transitionIndex, smtSolver, executor, maxSessions, finding -> outputTable.add(finding.toRow()));
     	return outputTable;
     }
     
+    // Parallel variant: consecutive chunks of transitions run on the executor, each worker uses its own session
+    // from a pool of at most maxSessions. Chunks are passed to the sink in model order, so the output equals the
+    // sequential run; only the findings of chunks that finished ahead of an earlier one are held in memory.
+    public static void staticAnalysisAlgorithm(ExclusionTable exclusionTable, TransitionIndex transitionIndex, SMT_Solver smtSolver,
+    		ExecutorService executor, int maxSessions, ResultSink sink){
+    	try (AnalysisSessionPool pool = smtSolver.openSessionPool(exclusionTable, maxSessions)) {
+    		staticAnalysisAlgorithm(exclusionTable, transitionIndex, pool, executor, sink);
+    	}
+    }
+    
+    // with a pool the caller keeps open; returns only once no chunk uses the pool any more, also when one failed,
+    // so the caller may close the pool right away
+    public static void staticAnalysisAlgorithm(ExclusionTable exclusionTable, TransitionIndex transitionIndex, AnalysisSessionPool pool,
+    		ExecutorService executor, ResultSink sink){
+    	List<List<Integer>> rowsPerTransition = matchRows(exclusionTable, transitionIndex, pool.getMetrics());
+    	List<TransitionIndex.IndexedTransition> transitions = transitionIndex.getTransitions();
+    	int chunkCount = pool.getMaxSessions() * CHUNKS_PER_SESSION;
+    	int chunkSize = Math.max(1, (transitions.size() + chunkCount - 1) / chunkCount);
+    	
+    	List<Chunk> chunks = new ArrayList<>();
+    	List<Future<List<Finding>>> futures = new ArrayList<>();
+    	boolean completed = false;
+    	try {
+    		for (int from = 0; from < transitions.size(); from += chunkSize) {
+    			Chunk chunk = new Chunk(transitions.subList(from, Math.min(from + chunkSize, transitions.size())),
+    					rowsPerTransition, pool, exclusionTable);
+    			chunks.add(chunk);
+    			futures.add(executor.submit(chunk));
+    		}
+    		for (Future<List<Finding>> future : futures) {
+    			for (Finding finding : future.get()) {
+    				sink.accept(finding);
+    			}
+    			sink.flush();
+    		}
+    		completed = true;
+    	} catch (InterruptedException e) {
+    		Thread.currentThread().interrupt();
+    		throw new IllegalStateException("Static analysis was interrupted", e);
+    	} catch (ExecutionException e) {
+    		throw new IllegalStateException("Static analysis failed", e.getCause());
+    	} finally {
+    		if (!completed) {
+    			for (Future<List<Finding>> future : futures) {
+    				future.cancel(false);
+    			}
+    			for (Chunk chunk : chunks) {
+    				chunk.cancel();
+    			}
+    		}
+    	}
+    }
+    
+    // One chunk of the parallel run. It is claimed either by its worker or by a failed run that cancels it; a
+    // cancelled chunk never borrows a session, one that is already running is waited for.
+    private static class Chunk implements Callable<List<Finding>> {
+    	private final List<TransitionIndex.IndexedTransition> transitions;
+    	private final List<List<Integer>> rowsPerTransition;
+    	private final AnalysisSessionPool pool;
+    	private final ExclusionTable exclusionTable;
+    	private final AtomicBoolean claimed = new AtomicBoolean();
+    	private final CountDownLatch done = new CountDownLatch(1);
+    	
+    	Chunk(List<TransitionIndex.IndexedTransition> transitions, List<List<Integer>> rowsPerTransition,
+    			AnalysisSessionPool pool, ExclusionTable exclusionTable) {
+    		this.transitions = transitions;
+    		this.rowsPerTransition = rowsPerTransition;
+    		this.pool = pool;
+    		this.exclusionTable = exclusionTable;
+    	}
+    	
+    	@Override
+    	public List<Finding> call() throws InterruptedException {
+    		if (!claimed.compareAndSet(false, true)) {
+    			return new ArrayList<>();
+    		}
+    		try {
+    			List<Finding> chunkOutput = new ArrayList<>();
+    			AnalysisSession session = pool.borrow();
+    			try {
+    				for (TransitionIndex.IndexedTransition indexedTransition : transitions) {
+    					List<Integer> matchedRows = rowsPerTransition.get(indexedTransition.getOrdinal());
+    					analyzeTransition(indexedTransition, matchedRows, session, exclusionTable, chunkOutput::add);
+    				}
+    			} finally {
+    				pool.release(session);
+    			}
+    			return chunkOutput;
+    		} finally {
+    			done.countDown();
+    		}
+    	}
+    	
+    	// a running chunk may be inside Z3, so this waits through interrupts and restores the flag afterwards
+    	void cancel() {
+    		if (claimed.compareAndSet(false, true)) {
+    			return;
+    		}
+    		boolean interrupted = false;
+    		while (true) {
+    			try {
+    				done.await();
+    				break;
+    			} catch (InterruptedException e) {
+    				interrupted = true;
+    			}
+    		}
+    		if (interrupted) {
+    			Thread.currentThread().interrupt();
+    		}
+    	}
+    }
+    
+    private static List<List<Integer>> matchRows(ExclusionTable exclusionTable, TransitionIndex transitionIndex, AnalysisMetrics metrics) {
+    	long start = System.nanoTime();
+    	List<List<Integer>> rowsPerTransition = transitionIndex.matchRows(exclusionTable);
+    	metrics.record(AnalysisMetrics.Phase.MATCH, start);
+    	return rowsPerTransition;
+    }
+    
+    public static List<Map<String, String>> analyzeTransition(TransitionIndex.IndexedTransition indexedTransition, List<Integer> matchedRows,
+    		AnalysisSession session, ExclusionTable exclusionTable){
+    	List<Map<String, String>> outputTable = new ArrayList<>();
+    	analyzeTransition(indexedTransition, matchedRows, session, exclusionTable, finding -> outputTable.add(finding.toRow()));
+    	return outputTable;
+    }
+    
+    // one finding per matched exclusion row
+    public static void analyzeTransition(TransitionIndex.IndexedTransition indexedTransition, List<Integer> matchedRows,
+    		AnalysisSession session, ExclusionTable exclusionTable, ResultSink sink){
+    	session.getMetrics().transitionScanned();
+    	session.getMetrics().exclusionRowsMatched(matchedRows.size());
+    	if (matchedRows.isEmpty()) {
+    		return;
+    	}
+    	String formatedTransition = indexedTransition.getCondition();
+    	boolean twoVariableConjunction = TWO_VARIABLE_CONJUNCTION.matcher(formatedTransition).matches();
+    	// the verdict does not depend on which row matched, solve once per transition
+    	SolverResult result = twoVariableConjunction ? null : session.check(indexedTransition);
+    	Finding.Verdict verdict;
+    	List<String> unsatCore = null;
+    	if (twoVariableConjunction) {
+    		verdict = Finding.Verdict.NOT_SATISFIED;
+    	} else if (result.isError()) {
+    		verdict = Finding.Verdict.ERROR;
+    	} else if (result.isSatisfiable()) {
+    		verdict = Finding.Verdict.SATISFIABLE;
+    	} else {
+    		verdict = Finding.Verdict.UNSATISFIABLE;
+    		// exclusion rows that make the transition unfirable
+    		unsatCore = result.describeUnsatCore(exclusionTable);
+    	}
+    	for (int row : matchedRows) {
+    		sink.accept(new Finding(indexedTransition, exclusionTable.describe(row), verdict, unsatCore));
+    	}
+    }
+    
     public static void printOutputTable(List<Map<String, String>> outputTable) {
         for (Map<String, String> row : outputTable) {
-            String partialGrafcetName = row.get("PartialGrafcetName");
-            String transitionID = row.get("TransitionID");
-            String transitionCondition = row.get("TransitionCondition");
-            String satisfiability = row.get("Satisfiability");
-            System.out.println(partialGrafcetName + "; " + transitionID + "; " + transitionCondition + "; " + satisfiability);
+            System.out.println(formatOutputRow(row));
+        }
+    }
+    
+    public static String formatOutputRow(Map<String, String> row) {
+        String partialGrafcetName = row.get("PartialGrafcetName");
+        String transitionID = row.get("TransitionID");
+        String transitionCondition = row.get("TransitionCondition");
+        String exclusionRow = row.get("ExclusionRow");
+        String satisfiability = row.get("Satisfiability");
+        String unsatCore = row.get("UnsatCore");
+        if (unsatCore != null) {
+            satisfiability = satisfiability + "; " + unsatCore;
         }
+        return partialGrafcetName + "; " + transitionID + "; " + transitionCondition + "; " + exclusionRow + "; " + satisfiability;
     }
 }
@@ -1,8 +1,11 @@
 package de.rub.grafcet.eka2026;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 
 import de.hsu.grafcet.*;
@@ -11,31 +14,103 @@ import de.hsu.grafcet.*;
 public class main {
 	// ADJUST:
 	static String projectDir = System.getProperty("user.dir"); // current project folder
-    static String csvPath = projectDir+ "\\csvTablesFolder\\exclusions_claude_sonnet_20250514.csv";
+    static String csvPath = Paths.get(projectDir, "csvTablesFolder", "exclusions_claude_sonnet_20250514.csv").toString();
+    // 1 = sequential; more threads analyse chunks of transitions in parallel, each with its own Z3 context
+    static int analysisThreads = 1;
+    // true = evaluate every table in csvFolder against the model and print a transition x table matrix
+    static boolean analyzeAllTables = false;
+    static String csvFolder = Paths.get(projectDir, "csvTablesFolder").toString();
+    // true = keep a binary copy of the model in grafcetSpecifications/.grafcetcache and load that while the model is unchanged
+    static boolean useModelCache = true;
+    // > 0 = print the analysis metrics every n seconds (they are also available over JMX)
+    static int metricsDumpSeconds = 0;
+    // ON = purely Boolean conditions are decided without Z3; VERIFY = also ask Z3 and report differences; OFF = Z3 only
+    static PropositionalFastPath.Mode fastPathMode = PropositionalFastPath.Mode.ON;
+    // AUTO = counters and positions only compared with constants are bit-blasted (decided without Z3) or bit-vectors; LIA = Z3 integers
+    static IntegerEncoding.Mode integerEncoding = IntegerEncoding.Mode.AUTO;
+    // true = keep running, re-analyse the new and changed transitions whenever the model file is saved
+    static boolean watchModel = false;
+    // true = keep solver results in grafcetSpecifications/.grafcetcache/solverResults.log, a rerun on an unchanged model and table skips the solver
+    static boolean usePersistentResults = true;
+    static long persistentResultsMaxBytes = 64L * 1024 * 1024;
+    // set = stream the findings to this file instead of printing them; .csv, .jsonl or .xmi (ResultsInterchange format)
+    static String resultsPath = null;
     
     //
     static SMT_Solver smtSolver = new SMT_Solver();
-    static List<Map<String, String>> outputTable = new ArrayList<>();
     static TransitionExpressionExtractor transitionBuilder = new TransitionExpressionExtractor();
 
 	public static void main(String[] args) {
+		AnalysisMetrics metrics = smtSolver.getMetrics();
+		metrics.registerMBean();
+		smtSolver.setFastPathMode(fastPathMode);
+		smtSolver.setIntegerEncoding(integerEncoding);
+		if (metricsDumpSeconds > 0) {
+			metrics.startPeriodicDump(metricsDumpSeconds, System.out);
+		}
+		if (usePersistentResults) {
+			try {
+				PersistentResultStore resultStore = new PersistentResultStore(
+						Paths.get(projectDir, "grafcetSpecifications", ".grafcetcache", "solverResults.log"), persistentResultsMaxBytes);
+				smtSolver.setPersistentStore(resultStore);
+				Runtime.getRuntime().addShutdownHook(new Thread(resultStore::close));
+			} catch (IOException e) {
+				System.out.println("Result store not available, solving everything: " + e.getMessage());
+			}
+		}
+		
 		// LOAD GRAFCET
         GrafcetPackage.eINSTANCE.eClass();
-		//Grafcet loadedGrafcet = grafcetFunctions.loadGrafcet(projectDir+"\\grafcetSpecifications\\eka2026_faultySchumacher.grafcet");
-		Grafcet loadedGrafcet = grafcetFunctions.loadGrafcet(projectDir+"\\grafcetSpecifications\\eka2026_schumacher.grafcet");
+		//Grafcet loadedGrafcet = grafcetFunctions.loadGrafcet(Paths.get(projectDir, "grafcetSpecifications", "eka2026_faultySchumacher.grafcet").toString());
+		String grafcetPath = Paths.get(projectDir, "grafcetSpecifications", "eka2026_schumacher.grafcet").toString();
+		Grafcet loadedGrafcet = useModelCache ? GrafcetModelCache.load(grafcetPath) : grafcetFunctions.loadGrafcet(grafcetPath);
 
-		// LOAD DLLs
-		System.load(projectDir + "\\z3\\bin\\libz3.dll");
-		System.load(projectDir + "\\z3\\bin\\libz3java.dll");
+		// DLLs are loaded by the first query that needs Z3
+		NativeLibraries.setZ3Folder(Paths.get(projectDir, "z3", "bin").toString());
+		
+		if (analyzeAllTables) {
+			TransitionIndex transitionIndex = TransitionIndex.build(loadedGrafcet);
+			Map<String, List<Map<String, String>>> results = MultiTableAnalysis.analyzeTables(transitionIndex, MultiTableAnalysis.listTables(csvFolder), smtSolver);
+			MultiTableAnalysis.printComparisonMatrix(transitionIndex, results);
+			System.out.println(smtSolver.getResultCache());
+			System.out.println(metrics.getReport());
+			return;
+		}
 		
 		// LOAD CSV FILE
-        ProcessCSVFile csvFile = new ProcessCSVFile();
-        csvFile.readAndSaveCSVFile(csvPath);
-        List<Map<String, String>> csvExclusionsFile = csvFile.getCSVFile();
+        ExclusionTable exclusionTable = ExclusionTable.read(csvPath);
+        if (exclusionTable.getImplicationGraph().hasFindings()) {
+        	System.out.println(exclusionTable.getImplicationGraph().consistencyReport());
+        }
+        
+        if (watchModel) {
+        	try (GrafcetWatcher watcher = new GrafcetWatcher(grafcetPath, exclusionTable, smtSolver)) {
+        		watcher.watch();
+        	}
+        	return;
+        }
         
-        // PERFORM STATIC ANALYSIS AND PRINT RESULTS
-		outputTable = grafcetFunctions.staticAnalysisAlgorithm(csvExclusionsFile, loadedGrafcet, smtSolver);
-		grafcetFunctions.printOutputTable(outputTable);
+        // PERFORM STATIC ANALYSIS AND PRINT RESULTS (each finding as soon as its transition is decided)
+		try (ResultSink sink = resultsPath == null ? finding -> System.out.println(grafcetFunctions.formatOutputRow(finding.toRow())) : ResultSink.open(resultsPath)) {
+			TransitionIndex transitionIndex = TransitionIndex.build(loadedGrafcet, metrics);
+			if (analysisThreads > 1) {
+				ExecutorService executor = Executors.newFixedThreadPool(analysisThreads);
+				try {
+					grafcetFunctions.staticAnalysisAlgorithm(exclusionTable, transitionIndex, smtSolver, executor, analysisThreads, sink);
+				} finally {
+					executor.shutdown();
+				}
+			} else {
+				grafcetFunctions.staticAnalysisAlgorithm(exclusionTable, transitionIndex, smtSolver, sink);
+			}
+			if (resultsPath != null) {
+				System.out.println("Saved results to: " + resultsPath);
+			}
+		} catch (IOException e) {
+			System.out.println("Could not write the results to " + resultsPath + ": " + e.getMessage());
+		}
+		System.out.println(smtSolver.getResultCache());
+		System.out.println(metrics.getReport());
 	}
 	
 	
@@ -0,0 +1,81 @@
+package de.rub.grafcet.eka2026;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import de.hsu.grafcet.Grafcet;
+
+public class AnalysisSessionPoolTest {
+
+	// fails the second query, so one chunk fails while others are running or still queued
+	private static class FailingCache extends SolverResultCache {
+		private final AtomicInteger queries = new AtomicInteger();
+
+		@Override
+		public SolverResult getOrSolve(QueryKey key, Supplier<SolverResult> solve) {
+			if (queries.incrementAndGet() == 2) {
+				throw new IllegalStateException("injected failure");
+			}
+			return super.getOrSolve(key, solve);
+		}
+	}
+
+	@Test
+	public void failingChunkLeavesNoOpenSessions() throws Exception {
+		SyntheticGrafcetGenerator.Settings settings = new SyntheticGrafcetGenerator.Settings();
+		settings.integerVariables = 0;
+		settings.comparisonProbability = 0;
+		SyntheticGrafcetGenerator generator = new SyntheticGrafcetGenerator(settings);
+		Grafcet grafcet = generator.generateGrafcet();
+		ExclusionTable exclusionTable = table(generator.generateExclusionRows());
+		TransitionIndex transitionIndex = TransitionIndex.build(grafcet, new AnalysisMetrics());
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		AnalysisSessionPool pool = new AnalysisSessionPool(exclusionTable, new FailingCache(), new AnalysisMetrics(),
+				PropositionalFastPath.Mode.ON, 2);
+		try {
+			List<Finding> findings = new ArrayList<>();
+			assertThrows(IllegalStateException.class,
+					() -> grafcetFunctions.staticAnalysisAlgorithm(exclusionTable, transitionIndex, pool, executor, findings::add));
+			pool.close();
+			assertEquals(0, pool.openSessions());
+			assertThrows(IllegalStateException.class, pool::borrow);
+		} finally {
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+		}
+		// nothing was left queued that could have opened a session after close
+		assertEquals(0, pool.openSessions());
+	}
+
+	@Test
+	public void borrowFailsOnceClosed() throws Exception {
+		AnalysisSessionPool pool = new AnalysisSessionPool(table(List.of("C;a;b;r")), new SolverResultCache(), 1);
+		AnalysisSession session = pool.borrow();
+		assertEquals(1, pool.openSessions());
+		pool.release(session);
+		pool.close();
+		assertEquals(0, pool.openSessions());
+		assertThrows(IllegalStateException.class, pool::borrow);
+		assertEquals(0, pool.openSessions());
+	}
+
+	private static ExclusionTable table(List<String> rows) throws IOException {
+		ExclusionTable table = new ExclusionTable();
+		ExclusionTableReader.read(new StringReader("Component;Var1;Var2;Reason\n" + String.join("\n", rows)), table);
+		return table;
+	}
+}
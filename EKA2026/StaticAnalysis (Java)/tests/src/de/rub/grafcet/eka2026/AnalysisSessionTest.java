@@ -0,0 +1,64 @@
+package de.rub.grafcet.eka2026;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import terms.Operator;
+import terms.Term;
+import terms.TermsFactory;
+import terms.Variable;
+import terms.VariableDeclaration;
+
+public class AnalysisSessionTest {
+
+	// a conjunction for the implication graph, a disjunction for the fast path and one the normalizer settles
+	@Test
+	public void everyModeCountsOneOutcomePerQuery() throws IOException {
+		ExclusionTable table = new ExclusionTable();
+		ExclusionTableReader.read(new StringReader("Component;Var1;Var2;Reason\nP;a;b;r1\n"), table);
+		for (PropositionalFastPath.Mode mode : PropositionalFastPath.Mode.values()) {
+			AnalysisMetrics metrics = new AnalysisMetrics();
+			try (AnalysisSession session = new AnalysisSession(table, new SolverResultCache(), metrics, mode)) {
+				session.check(and(variable("a"), variable("b")));
+				session.check(or(variable("a"), not(variable("b"))));
+				session.check(and(variable("c"), not(variable("c"))));
+			}
+			assertEquals(1, metrics.getSatOutcomes(), mode.toString());
+			assertEquals(2, metrics.getUnsatOutcomes(), mode.toString());
+			assertEquals(0, metrics.getErrorOutcomes(), mode.toString());
+			assertEquals(0, metrics.getFastPathMismatches(), mode.toString());
+		}
+	}
+
+	private static Term variable(String name) {
+		VariableDeclaration declaration = TermsFactory.eINSTANCE.createVariableDeclaration();
+		declaration.setName(name);
+		declaration.setSort(TermsFactory.eINSTANCE.createBool());
+		Variable variable = TermsFactory.eINSTANCE.createVariable();
+		variable.setVariableDeclaration(declaration);
+		return variable;
+	}
+
+	private static Term not(Term operand) {
+		return operator(TermsFactory.eINSTANCE.createNot(), operand);
+	}
+
+	private static Term and(Term... operands) {
+		return operator(TermsFactory.eINSTANCE.createAnd(), operands);
+	}
+
+	private static Term or(Term... operands) {
+		return operator(TermsFactory.eINSTANCE.createOr(), operands);
+	}
+
+	private static Term operator(Operator operator, Term... operands) {
+		for (Term operand : operands) {
+			operator.getSubterm().add(operand);
+		}
+		return operator;
+	}
+}
@@ -0,0 +1,158 @@
+package de.rub.grafcet.eka2026;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.microsoft.z3.BoolExpr;
+import com.microsoft.z3.Context;
+import com.microsoft.z3.Solver;
+import com.microsoft.z3.Status;
+
+import terms.Operator;
+import terms.Term;
+import terms.TermsFactory;
+import terms.Variable;
+import terms.VariableDeclaration;
+
+public class ExclusionImplicationGraphTest {
+	// a, b and c are equivalent and exclude d, e is forced false, f forced true
+	private static final List<String> CONSISTENT = List.of(
+			"P;a;NOT[b];r1", "P;b;NOT[c];r2", "P;c;NOT[a];r3", "P;c;d;r4", "P;e;e;r5", "P;NOT[f];NOT[f];r6", "P;x;y;r7");
+	// every assignment of a and b violates a row
+	private static final List<String> CONTRADICTORY = List.of(
+			"P;a;b;r1", "P;NOT[a];b;r2", "P;a;NOT[b];r3", "P;NOT[a];NOT[b];r4");
+
+	private final Map<String, VariableDeclaration> declarations = new HashMap<>();
+
+	@Test
+	public void closureAndSearchAgree() throws IOException {
+		for (List<String> rows : List.of(CONSISTENT, CONTRADICTORY)) {
+			ExclusionTable table = table(rows);
+			ExclusionImplicationGraph withClosure = ExclusionImplicationGraph.build(table);
+			ExclusionImplicationGraph withSearch = ExclusionImplicationGraph.build(table, 0);
+			assertEquals(withClosure.isConsistent(), withSearch.isConsistent());
+			int literals = 2 * table.getVariables().size();
+			for (int from = 0; from < literals; from++) {
+				for (int to = 0; to < literals; to++) {
+					assertEquals(withClosure.implies(from, to), withSearch.implies(from, to), from + " -> " + to);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void forcedVariablesAreReportedWithTheirRows() throws IOException {
+		ExclusionTable table = table(CONSISTENT);
+		ExclusionImplicationGraph graph = ExclusionImplicationGraph.build(table);
+		assertTrue(graph.isConsistent());
+		assertTrue(graph.hasFindings());
+		assertEquals(List.of(
+				"e is forced false: line 6 P/e/e/r5",
+				"f is forced true: line 7 P/NOT[f]/NOT[f]/r6"), graph.getFindings());
+
+		// without a closure only contradictions are searched for
+		ExclusionImplicationGraph withSearch = ExclusionImplicationGraph.build(table, 0);
+		assertFalse(withSearch.hasFindings());
+		assertTrue(withSearch.getFindings().isEmpty());
+		assertTrue(withSearch.consistencyReport().contains("forced variables were not searched for"));
+		assertEquals("Exclusion table is consistent, no variable is forced",
+				ExclusionImplicationGraph.build(table(List.of("P;x;y;r1"))).consistencyReport());
+	}
+
+	@Test
+	public void contradictionsAreTheSameWithoutClosure() throws IOException {
+		ExclusionTable table = table(CONTRADICTORY);
+		ExclusionImplicationGraph withClosure = ExclusionImplicationGraph.build(table);
+		ExclusionImplicationGraph withSearch = ExclusionImplicationGraph.build(table, 0);
+		assertFalse(withClosure.isConsistent());
+		assertTrue(withSearch.hasFindings());
+		assertEquals(2, withClosure.getFindings().size());
+		assertTrue(withClosure.getFindings().get(0).startsWith("Contradiction: a implies NOT[a] (line "));
+		assertEquals(withClosure.getFindings(), withSearch.getFindings());
+	}
+
+	@Test
+	public void consistencyMatchesZ3() throws IOException {
+		NativeLibraries.ensureZ3Loaded();
+		try (Context ctx = new Context()) {
+			for (List<String> rows : List.of(CONSISTENT, CONTRADICTORY)) {
+				ExclusionTable table = table(rows);
+				Solver solver = ctx.mkSolver();
+				for (int row = 0; row < table.size(); row++) {
+					BoolExpr var1 = literal(ctx, table.variableName(table.var1Id(row)), table.isVar1Negated(row));
+					BoolExpr var2 = literal(ctx, table.variableName(table.var2Id(row)), table.isVar2Negated(row));
+					solver.add(ctx.mkNot(ctx.mkAnd(var1, var2)));
+				}
+				assertEquals(solver.check() == Status.SATISFIABLE, ExclusionImplicationGraph.build(table).isConsistent());
+			}
+		}
+	}
+
+	// verdicts and cores of both graphs against the Z3 path of a session without fast path
+	@Test
+	public void conjunctionsMatchZ3() throws IOException {
+		ExclusionTable table = table(CONSISTENT);
+		ExclusionImplicationGraph withClosure = ExclusionImplicationGraph.build(table);
+		ExclusionImplicationGraph withSearch = ExclusionImplicationGraph.build(table, 0);
+		List<List<String>> conditions = List.of(
+				List.of("a", "d"), List.of("a", "NOT[b]"), List.of("a", "x"), List.of("e"), List.of("NOT[f]", "z"),
+				List.of("z", "NOT[z]"), List.of("a", "NOT[d]", "y"), List.of("x", "y", "b"));
+		try (AnalysisSession session = new AnalysisSession(table, new SolverResultCache(), new AnalysisMetrics(),
+				PropositionalFastPath.Mode.OFF)) {
+			for (List<String> literals : conditions) {
+				Term term = conjunction(literals);
+				assertTrue(ExclusionImplicationGraph.isConjunctive(term));
+				SolverResult z3Result = session.check(term);
+				assertFalse(z3Result.isError());
+				for (ExclusionImplicationGraph graph : List.of(withClosure, withSearch)) {
+					SolverResult result = graph.check(term);
+					assertEquals(z3Result.isSatisfiable(), result.isSatisfiable(), literals.toString());
+					assertArrayEquals(z3Result.getUnsatCore(), result.getUnsatCore(), literals.toString());
+				}
+			}
+		}
+	}
+
+	private Term conjunction(List<String> literals) {
+		Operator and = TermsFactory.eINSTANCE.createAnd();
+		for (String literal : literals) {
+			String name = ExclusionTable.stripNegation(literal);
+			Variable variable = TermsFactory.eINSTANCE.createVariable();
+			variable.setVariableDeclaration(declarations.computeIfAbsent(name, n -> {
+				VariableDeclaration declaration = TermsFactory.eINSTANCE.createVariableDeclaration();
+				declaration.setName(n);
+				declaration.setSort(TermsFactory.eINSTANCE.createBool());
+				return declaration;
+			}));
+			if (name.equals(literal)) {
+				and.getSubterm().add(variable);
+			} else {
+				Operator not = TermsFactory.eINSTANCE.createNot();
+				not.getSubterm().add(variable);
+				and.getSubterm().add(not);
+			}
+		}
+		return and;
+	}
+
+	private static BoolExpr literal(Context ctx, String name, boolean negated) {
+		BoolExpr variable = ctx.mkBoolConst(name);
+		return negated ? ctx.mkNot(variable) : variable;
+	}
+
+	private static ExclusionTable table(List<String> rows) throws IOException {
+		ExclusionTable table = new ExclusionTable();
+		ExclusionTableReader.read(new StringReader("Component;Var1;Var2;Reason\n" + String.join("\n", rows)), table);
+		return table;
+	}
+}
@@ -0,0 +1,102 @@
+package de.rub.grafcet.eka2026;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class ExclusionTableReaderTest {
+	private static final String HEADER = "Component;Var1;Var2;Reason\n";
+
+	@Test
+	public void quotedFieldsKeepDelimitersQuotesAndLineBreaks() throws IOException {
+		ExclusionTable table = read(HEADER
+				+ "Pumps;p1;NOT[p2];\"one; or \"\"the other\"\"\"\n"
+				+ "Valves;v1;v2;\"first line\n"
+				+ "second line\"\n"
+				+ "Tanks;\"t1\";t2;\n");
+		assertEquals(3, table.size());
+		assertTrue(table.getMalformedRows().isEmpty());
+
+		assertEquals("Pumps/p1/NOT[p2]/one; or \"the other\"", table.describe(0));
+		assertFalse(table.isVar1Negated(0));
+		assertTrue(table.isVar2Negated(0));
+		assertEquals(2, table.lineNumber(0));
+
+		assertEquals("first line\nsecond line", table.reason(table.get(1)));
+		assertEquals(3, table.lineNumber(1));
+		// the line break inside the quotes moves the next row down
+		assertEquals(5, table.lineNumber(2));
+		assertEquals("t1", table.variableName(table.var1Id(2)));
+	}
+
+	@Test
+	public void windowsLineEndingsCountOnce() throws IOException {
+		ExclusionTable table = read("Component;Var1;Var2;Reason\r\n"
+				+ "Pumps;p1;p2;\"a\r\nb\"\r\n"
+				+ "\r\n"
+				+ "Valves;v1;v2;c\r\n");
+		assertEquals(2, table.size());
+		assertEquals(2, table.lineNumber(0));
+		assertEquals("a\r\nb", table.reason(table.get(0)));
+		assertEquals(5, table.lineNumber(1));
+	}
+
+	@Test
+	public void malformedRowsAreReportedWithTheirLine() throws IOException {
+		ExclusionTable table = read(HEADER
+				+ "Pumps;p1;p2;fine\n"
+				+ "Valves;v1;v3\n"
+				+ "\n"
+				+ "Tanks;t1;;no partner\n"
+				+ "Tanks;t1;t2;fine;extra\n"
+				+ "Tanks;t1;t3;fine\n");
+		assertEquals(2, table.size());
+		assertEquals(2, table.lineNumber(0));
+		assertEquals(7, table.lineNumber(1));
+		assertEquals(List.of(
+				"line 3: expected 4 fields, found 3",
+				"line 5: missing Var1 or Var2",
+				"line 6: expected 4 fields, found 5"), table.getMalformedRows());
+	}
+
+	@Test
+	public void unterminatedQuoteDropsTheLastRecord() throws IOException {
+		ExclusionTable table = read(HEADER
+				+ "Pumps;p1;p2;fine\n"
+				+ "Tanks;t1;t2;\"open\n"
+				+ "Tanks;t1;t3;fine\n");
+		assertEquals(1, table.size());
+		assertEquals(List.of("line 3: unterminated quoted field"), table.getMalformedRows());
+	}
+
+	@Test
+	public void headerWithoutVariablesIsReported() throws IOException {
+		ExclusionTable table = read("Component;Left;Right;Reason\nPumps;p1;p2;fine\n");
+		assertEquals(0, table.size());
+		assertEquals(List.of("line 1: header has no Var1/Var2 column"), table.getMalformedRows());
+	}
+
+	@Test
+	public void rowsWithoutAFileHaveUnknownLines() {
+		ExclusionTable table = ExclusionTable.fromRows(List.of(
+				Map.of("Component", "Pumps", "Var1", "p1", "Var2", "NOT(p2)", "Reason", "fine"),
+				Map.of("Component", "Pumps", "Var1", "p1", "Reason", "no partner")));
+		assertEquals(1, table.size());
+		assertEquals(ExclusionTable.UNKNOWN_LINE, table.lineNumber(0));
+		assertEquals("Pumps/p1/NOT[p2]/fine", table.describe(0));
+		assertEquals(List.of("unknown line: missing Var1 or Var2"), table.getMalformedRows());
+	}
+
+	private static ExclusionTable read(String csv) throws IOException {
+		ExclusionTable table = new ExclusionTable();
+		ExclusionTableReader.read(new StringReader(csv), table);
+		return table;
+	}
+}
@@ -0,0 +1,136 @@
+package de.rub.grafcet.eka2026;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.microsoft.z3.BoolExpr;
+import com.microsoft.z3.Context;
+import com.microsoft.z3.Solver;
+import com.microsoft.z3.Status;
+
+public class FormulaNormalizerTest {
+	private final FormulaDag formulaDag = new FormulaDag();
+	private final FormulaNormalizer normalizer = new FormulaNormalizer(formulaDag);
+	private final FormulaDag.Node a = variable("a");
+	private final FormulaDag.Node b = variable("b");
+	private final FormulaDag.Node c = variable("c");
+	private final FormulaDag.Node x = variable("x");
+	private final FormulaDag.Node trueNode = formulaDag.constant(true);
+	private final FormulaDag.Node falseNode = formulaDag.constant(false);
+
+	@Test
+	public void nestedJunctionsAreFlattened() {
+		FormulaDag.Node flat = normalizer.normalize(and(a, and(b, c)));
+		assertEquals(FormulaDag.Kind.AND, flat.getKind());
+		assertArrayEquals(new FormulaDag.Node[] {a, b, c}, flat.getChildren());
+		assertSame(flat, normalizer.normalize(and(and(c, a), b)));
+		assertSame(a, normalizer.normalize(and(a)));
+		assertSame(a, normalizer.normalize(formulaDag.not(formulaDag.not(a))));
+	}
+
+	@Test
+	public void constantsAreFolded() {
+		assertSame(a, normalizer.normalize(and(a, trueNode)));
+		assertSame(falseNode, normalizer.normalize(and(a, falseNode)));
+		assertSame(trueNode, normalizer.normalize(or(a, trueNode)));
+		assertSame(falseNode, normalizer.normalize(formulaDag.not(trueNode)));
+		assertSame(trueNode, normalizer.normalize(and()));
+		assertSame(a, normalizer.normalize(iff(a, trueNode)));
+		assertSame(formulaDag.not(a), normalizer.normalize(iff(falseNode, a)));
+		assertSame(trueNode, normalizer.normalize(comparison(FormulaDag.Kind.LESS, formulaDag.integer(2), formulaDag.integer(3))));
+		assertSame(falseNode, normalizer.normalize(comparison(FormulaDag.Kind.GREATER, formulaDag.integer(-2), formulaDag.integer(3))));
+		assertSame(trueNode, normalizer.normalize(
+				comparison(FormulaDag.Kind.EQUAL, add(formulaDag.integer(2), formulaDag.integer(3)), formulaDag.integer(5))));
+		assertSame(falseNode, normalizer.normalize(comparison(FormulaDag.Kind.LESS, x, x)));
+		// beyond long the sum is left to Z3
+		assertEquals(FormulaDag.Kind.ADD,
+				normalizer.normalize(add(formulaDag.integer(Long.MAX_VALUE), formulaDag.integer(1))).getKind());
+	}
+
+	@Test
+	public void operandsAreDeduplicated() {
+		FormulaDag.Node both = normalizer.normalize(and(a, b));
+		assertSame(both, normalizer.normalize(and(b, a, b)));
+		assertSame(both, normalizer.normalize(and(b, and(a, b))));
+		assertSame(normalizer.normalize(iff(a, b)), normalizer.normalize(iff(b, a)));
+	}
+
+	@Test
+	public void complementsAreContradictions() {
+		assertSame(falseNode, normalizer.normalize(and(a, b, formulaDag.not(a))));
+		assertSame(trueNode, normalizer.normalize(or(formulaDag.not(a), a)));
+		assertSame(falseNode, normalizer.normalize(iff(a, formulaDag.not(a))));
+		assertSame(trueNode, normalizer.normalize(iff(a, a)));
+		assertSame(b, normalizer.normalize(and(b, or(a, formulaDag.not(a)))));
+	}
+
+	@Test
+	public void absorbedOperandsAreDropped() {
+		assertSame(a, normalizer.normalize(and(a, or(a, b))));
+		assertSame(a, normalizer.normalize(or(and(b, a), a)));
+		FormulaDag.Node kept = normalizer.normalize(and(c, or(a, b)));
+		assertEquals(FormulaDag.Kind.AND, kept.getKind());
+		assertEquals(2, kept.getChildren().length);
+	}
+
+	// every formula of the tests above and a few mixed ones: same verdict in Z3, and equivalent to the original
+	@Test
+	public void normalizedFormulasAgreeWithZ3() {
+		FormulaDag.Node y = variable("y");
+		List<FormulaDag.Node> formulas = List.of(
+				and(a, and(b, c)), formulaDag.not(formulaDag.not(a)), and(a, falseNode), iff(falseNode, a),
+				and(a, b, formulaDag.not(a)), or(formulaDag.not(a), a), iff(a, formulaDag.not(a)), and(a, or(a, b)),
+				or(and(b, a), a), and(c, or(a, b), formulaDag.not(c)),
+				and(comparison(FormulaDag.Kind.LESS, x, formulaDag.integer(3)),
+						comparison(FormulaDag.Kind.GREATER, add(x, formulaDag.integer(1)), add(formulaDag.integer(2), formulaDag.integer(2)))),
+				or(comparison(FormulaDag.Kind.EQUAL, x, y), comparison(FormulaDag.Kind.LESS, y, y), and(b, trueNode)),
+				iff(comparison(FormulaDag.Kind.EQUAL, formulaDag.integer(1), formulaDag.integer(1)), and(a, formulaDag.not(b))));
+
+		NativeLibraries.ensureZ3Loaded();
+		try (Context ctx = new Context()) {
+			TermToZ3Compiler compiler = new TermToZ3Compiler(ctx, new HashMap<>(), new HashMap<>(), formulaDag);
+			for (FormulaDag.Node formula : formulas) {
+				BoolExpr original = compiler.compile(formula);
+				BoolExpr normalized = compiler.compile(normalizer.normalize(formula));
+				assertEquals(check(ctx, original), check(ctx, normalized), original.toString());
+				assertEquals(Status.UNSATISFIABLE, check(ctx, ctx.mkNot(ctx.mkIff(original, normalized))), original.toString());
+			}
+		}
+	}
+
+	private static Status check(Context ctx, BoolExpr formula) {
+		Solver solver = ctx.mkSolver();
+		solver.add(formula);
+		return solver.check();
+	}
+
+	private FormulaDag.Node variable(String name) {
+		return formulaDag.intern(FormulaDag.Kind.VARIABLE, name, new FormulaDag.Node[0]);
+	}
+
+	private FormulaDag.Node and(FormulaDag.Node... operands) {
+		return formulaDag.intern(FormulaDag.Kind.AND, null, operands);
+	}
+
+	private FormulaDag.Node or(FormulaDag.Node... operands) {
+		return formulaDag.intern(FormulaDag.Kind.OR, null, operands);
+	}
+
+	private FormulaDag.Node iff(FormulaDag.Node left, FormulaDag.Node right) {
+		return formulaDag.intern(FormulaDag.Kind.IFF, null, new FormulaDag.Node[] {left, right});
+	}
+
+	private FormulaDag.Node comparison(FormulaDag.Kind kind, FormulaDag.Node left, FormulaDag.Node right) {
+		return formulaDag.intern(kind, null, new FormulaDag.Node[] {left, right});
+	}
+
+	private FormulaDag.Node add(FormulaDag.Node... operands) {
+		return formulaDag.intern(FormulaDag.Kind.ADD, null, operands);
+	}
+}
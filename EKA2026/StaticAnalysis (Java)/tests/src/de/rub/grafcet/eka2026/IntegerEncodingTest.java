@@ -0,0 +1,153 @@
+package de.rub.grafcet.eka2026;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import terms.IntegerConstant;
+import terms.Operator;
+import terms.Term;
+import terms.TermsFactory;
+import terms.Variable;
+import terms.VariableDeclaration;
+
+public class IntegerEncodingTest {
+	private final Map<String, VariableDeclaration> declarations = new HashMap<>();
+
+	@Test
+	public void rangeReachesOneBeyondTheConstants() {
+		assertArrayEquals(new long[] {4, 2}, range("x", less(variable("x"), constant(5))));
+		// -1 .. 6 fits three bits, -1 .. 7 needs four
+		assertArrayEquals(new long[] {-1, 3}, range("x", and(greater(variable("x"), constant(0)), less(variable("x"), constant(5)))));
+		assertArrayEquals(new long[] {-1, 4}, range("x", and(greater(variable("x"), constant(0)), less(variable("x"), constant(6)))));
+		// constant on the left
+		assertArrayEquals(new long[] {-1, 4}, range("x", and(less(constant(0), variable("x")), equal(constant(6), variable("x")))));
+	}
+
+	@Test
+	public void rangeOfTheIntExtremesDoesNotOverflow() {
+		Term term = and(greater(variable("x"), constant(Integer.MIN_VALUE)), less(variable("x"), constant(Integer.MAX_VALUE)));
+		// 2^32 + 2 values from MIN_VALUE - 1 to MAX_VALUE + 1
+		assertArrayEquals(new long[] {Integer.MIN_VALUE - 1L, 33}, range("x", term));
+	}
+
+	@Test
+	public void sumsAndComparedVariablesNeedIntegers() {
+		Term term = and(equal(add(variable("x"), constant(1)), constant(3)), less(variable("y"), variable("z")),
+				less(variable("x"), constant(5)));
+		IntegerEncoding.Ranges ranges = IntegerEncoding.Ranges.of(term);
+		assertNull(ranges.range("x"));
+		assertNull(ranges.range("y"));
+		assertNull(ranges.range("z"));
+		assertEquals(IntegerEncoding.Mode.LIA, new IntegerEncoding(IntegerEncoding.Mode.BIT_BLAST, ranges).encodingOf("x"));
+	}
+
+	@Test
+	public void autoBitBlastsUpToTheWidthLimit() {
+		// 0 and 4093: 4096 values on 12 bits; 0 and 4094: 4097 values on 13 bits
+		IntegerEncoding narrow = encoding(IntegerEncoding.Mode.AUTO, and(greater(variable("x"), constant(0)), less(variable("x"), constant(4093))));
+		IntegerEncoding wide = encoding(IntegerEncoding.Mode.AUTO, and(greater(variable("x"), constant(0)), less(variable("x"), constant(4094))));
+		assertEquals(IntegerEncoding.MAX_BIT_BLAST_WIDTH, narrow.width("x"));
+		assertEquals(IntegerEncoding.Mode.BIT_BLAST, narrow.encodingOf("x"));
+		assertEquals(IntegerEncoding.MAX_BIT_BLAST_WIDTH + 1, wide.width("x"));
+		assertEquals(IntegerEncoding.Mode.BIT_VECTOR, wide.encodingOf("x"));
+		assertEquals(IntegerEncoding.Mode.LIA, encoding(IntegerEncoding.Mode.LIA, less(variable("x"), constant(5))).encodingOf("x"));
+	}
+
+	// every encoding, with and without the fast path, against Z3 integers
+	@Test
+	public void encodingsAgreeWithIntegersAtTheBounds() {
+		Term[] conditions = {
+				and(greater(variable("x"), constant(7)), less(variable("x"), constant(9))),
+				and(greater(variable("x"), constant(7)), less(variable("x"), constant(8))),
+				and(less(variable("x"), constant(0)), greater(variable("x"), constant(-2))),
+				and(equal(variable("x"), constant(3)), not(less(variable("x"), constant(4)))),
+				and(greater(variable("x"), constant(2)), greater(constant(5), variable("x")),
+						not(equal(variable("x"), constant(3))), not(equal(variable("x"), constant(4)))),
+				and(greater(variable("x"), constant(Integer.MAX_VALUE - 1)), not(equal(variable("x"), constant(Integer.MAX_VALUE)))),
+				and(less(variable("x"), constant(Integer.MIN_VALUE + 1)), not(equal(variable("x"), constant(Integer.MIN_VALUE))),
+						greater(variable("y"), constant(Integer.MAX_VALUE)), less(variable("y"), constant(Integer.MIN_VALUE))),
+				and(less(variable("x"), constant(Integer.MIN_VALUE + 1)), not(equal(variable("x"), constant(Integer.MIN_VALUE))),
+						greater(variable("x"), constant(Integer.MAX_VALUE))),
+				and(equal(add(variable("x"), constant(1)), constant(7)), greater(variable("x"), constant(5))),
+				and(equal(add(variable("x"), constant(1)), constant(7)), less(variable("x"), constant(6))),
+		};
+		boolean[] expected = {true, false, true, false, false, true, false, false, true, false};
+
+		ExclusionTable table = new ExclusionTable();
+		for (PropositionalFastPath.Mode fastPathMode : new PropositionalFastPath.Mode[] {PropositionalFastPath.Mode.OFF, PropositionalFastPath.Mode.ON}) {
+			for (IntegerEncoding.Mode mode : IntegerEncoding.Mode.values()) {
+				try (AnalysisSession session = new AnalysisSession(table, new SolverResultCache(), new AnalysisMetrics(),
+						fastPathMode, mode)) {
+					for (int i = 0; i < conditions.length; i++) {
+						SolverResult result = session.check(conditions[i]);
+						assertFalse(result.isError());
+						assertEquals(expected[i], result.isSatisfiable(), "condition " + i + ", " + mode + ", fast path " + fastPathMode);
+					}
+				}
+			}
+		}
+	}
+
+	private long[] range(String name, Term term) {
+		return IntegerEncoding.Ranges.of(term).range(name);
+	}
+
+	private static IntegerEncoding encoding(IntegerEncoding.Mode mode, Term term) {
+		return new IntegerEncoding(mode, IntegerEncoding.Ranges.of(term));
+	}
+
+	private Variable variable(String name) {
+		Variable variable = TermsFactory.eINSTANCE.createVariable();
+		variable.setVariableDeclaration(declarations.computeIfAbsent(name, n -> {
+			VariableDeclaration declaration = TermsFactory.eINSTANCE.createVariableDeclaration();
+			declaration.setName(n);
+			declaration.setSort(TermsFactory.eINSTANCE.createInteger());
+			return declaration;
+		}));
+		return variable;
+	}
+
+	private static IntegerConstant constant(int value) {
+		IntegerConstant constant = TermsFactory.eINSTANCE.createIntegerConstant();
+		constant.setValue(value);
+		return constant;
+	}
+
+	private static Term less(Term left, Term right) {
+		return operator(TermsFactory.eINSTANCE.createLessThan(), left, right);
+	}
+
+	private static Term greater(Term left, Term right) {
+		return operator(TermsFactory.eINSTANCE.createGreaterThan(), left, right);
+	}
+
+	private static Term equal(Term left, Term right) {
+		return operator(TermsFactory.eINSTANCE.createEquality(), left, right);
+	}
+
+	private static Term add(Term left, Term right) {
+		return operator(TermsFactory.eINSTANCE.createAddition(), left, right);
+	}
+
+	private static Term not(Term operand) {
+		return operator(TermsFactory.eINSTANCE.createNot(), operand);
+	}
+
+	private static Term and(Term... operands) {
+		return operator(TermsFactory.eINSTANCE.createAnd(), operands);
+	}
+
+	private static Term operator(Operator operator, Term... operands) {
+		for (Term operand : operands) {
+			operator.getSubterm().add(operand);
+		}
+		return operator;
+	}
+}
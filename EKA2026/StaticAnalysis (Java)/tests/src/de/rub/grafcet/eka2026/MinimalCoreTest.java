@@ -0,0 +1,151 @@
+package de.rub.grafcet.eka2026;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.microsoft.z3.BoolExpr;
+import com.microsoft.z3.Context;
+import com.microsoft.z3.Solver;
+import com.microsoft.z3.Status;
+
+import terms.Operator;
+import terms.Term;
+import terms.TermsFactory;
+import terms.Variable;
+import terms.VariableDeclaration;
+
+public class MinimalCoreTest {
+
+	@Test
+	public void coreIsTheFirstConflictInRowOrder() {
+		MinimalCore.Oracle oracle = conflicts(new int[] {1, 4}, new int[] {2, 3, 5});
+		int[] core = MinimalCore.extract(6, oracle);
+		assertArrayEquals(new int[] {1, 4}, core);
+		assertMinimal(core, oracle);
+	}
+
+	@Test
+	public void formulaUnsatisfiableOnItsOwnHasAnEmptyCore() {
+		assertArrayEquals(new int[0], MinimalCore.extract(3, rows -> true));
+	}
+
+	// every table of four rows with one or two conflicting row sets
+	@Test
+	public void everyCoreIsMinimal() {
+		for (int first = 1; first < 16; first++) {
+			for (int second = first; second < 16; second++) {
+				MinimalCore.Oracle oracle = conflicts(rows(first), rows(second));
+				assertMinimal(MinimalCore.extract(4, oracle), oracle);
+			}
+		}
+	}
+
+	// the core of the Z3 path, checked with a solver of its own on the formula and the rows of the core alone
+	@Test
+	public void coreOfTheZ3PathIsMinimalForZ3() throws IOException {
+		ExclusionTable table = table(List.of("P;a;b;r1", "P;x;y;r2", "P;a;c;r3", "P;NOT[a];b;r4"));
+		assertEquals(4, table.size());
+		SolverResult result;
+		try (AnalysisSession session = new AnalysisSession(table, new SolverResultCache(), new AnalysisMetrics(),
+				PropositionalFastPath.Mode.OFF)) {
+			result = session.check(and(variable("a"), or(variable("b"), variable("c"))));
+		}
+		assertFalse(result.isError());
+		assertFalse(result.isSatisfiable());
+		assertArrayEquals(new int[] {0, 2}, result.getUnsatCore());
+
+		NativeLibraries.ensureZ3Loaded();
+		try (Context ctx = new Context()) {
+			BoolExpr formula = ctx.mkAnd(ctx.mkBoolConst("a"), ctx.mkOr(ctx.mkBoolConst("b"), ctx.mkBoolConst("c")));
+			assertMinimal(result.getUnsatCore(), rows -> isUnsat(ctx, formula, table, rows));
+		}
+	}
+
+	private static void assertMinimal(int[] core, MinimalCore.Oracle oracle) {
+		assertTrue(oracle.isUnsat(core), () -> Arrays.toString(core) + " is satisfiable");
+		for (int i = 0; i < core.length; i++) {
+			int[] smaller = new int[core.length - 1];
+			System.arraycopy(core, 0, smaller, 0, i);
+			System.arraycopy(core, i + 1, smaller, i, smaller.length - i);
+			assertFalse(oracle.isUnsat(smaller), () -> Arrays.toString(core) + " is not minimal");
+		}
+	}
+
+	// unsatisfiable as soon as all rows of one of the sets are enabled
+	private static MinimalCore.Oracle conflicts(int[]... conflictSets) {
+		return enabledRows -> {
+			Set<Integer> enabled = new HashSet<>();
+			for (int row : enabledRows) {
+				enabled.add(row);
+			}
+			for (int[] conflictSet : conflictSets) {
+				if (Arrays.stream(conflictSet).allMatch(enabled::contains)) {
+					return true;
+				}
+			}
+			return false;
+		};
+	}
+
+	private static int[] rows(int mask) {
+		return IntStream.range(0, 4).filter(row -> (mask & (1 << row)) != 0).toArray();
+	}
+
+	private static Term variable(String name) {
+		VariableDeclaration declaration = TermsFactory.eINSTANCE.createVariableDeclaration();
+		declaration.setName(name);
+		declaration.setSort(TermsFactory.eINSTANCE.createBool());
+		Variable variable = TermsFactory.eINSTANCE.createVariable();
+		variable.setVariableDeclaration(declaration);
+		return variable;
+	}
+
+	private static Term and(Term... operands) {
+		return operator(TermsFactory.eINSTANCE.createAnd(), operands);
+	}
+
+	private static Term or(Term... operands) {
+		return operator(TermsFactory.eINSTANCE.createOr(), operands);
+	}
+
+	private static Term operator(Operator operator, Term... operands) {
+		for (Term operand : operands) {
+			operator.getSubterm().add(operand);
+		}
+		return operator;
+	}
+
+	private static boolean isUnsat(Context ctx, BoolExpr formula, ExclusionTable table, int[] rows) {
+		Solver solver = ctx.mkSolver();
+		solver.add(formula);
+		for (int row : rows) {
+			BoolExpr var1 = literal(ctx, table.variableName(table.var1Id(row)), table.isVar1Negated(row));
+			BoolExpr var2 = literal(ctx, table.variableName(table.var2Id(row)), table.isVar2Negated(row));
+			solver.add(ctx.mkNot(ctx.mkAnd(var1, var2)));
+		}
+		return solver.check() == Status.UNSATISFIABLE;
+	}
+
+	private static BoolExpr literal(Context ctx, String name, boolean negated) {
+		BoolExpr variable = ctx.mkBoolConst(name);
+		return negated ? ctx.mkNot(variable) : variable;
+	}
+
+	private static ExclusionTable table(List<String> rows) throws IOException {
+		ExclusionTable table = new ExclusionTable();
+		ExclusionTableReader.read(new StringReader("Component;Var1;Var2;Reason\n" + String.join("\n", rows)), table);
+		return table;
+	}
+}
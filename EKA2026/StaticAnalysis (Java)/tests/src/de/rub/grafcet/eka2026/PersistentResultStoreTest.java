@@ -0,0 +1,156 @@
+package de.rub.grafcet.eka2026;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PersistentResultStoreTest {
+	private static final long MAX_BYTES = 1 << 20;
+	// both formulas have the same length, so their records have the same size
+	private static final SolverResultCache.QueryKey SAT_KEY = new SolverResultCache.QueryKey("AND[a, b]", 42);
+	private static final SolverResultCache.QueryKey UNSAT_KEY = new SolverResultCache.QueryKey("AND[a, c]", 42);
+
+	@TempDir
+	Path folder;
+
+	@Test
+	public void resultsSurviveReopening() throws IOException {
+		Path log = folder.resolve("results.log");
+		try (PersistentResultStore store = new PersistentResultStore(log, MAX_BYTES)) {
+			store.put(SAT_KEY, new SolverResult(true, null));
+			store.put(UNSAT_KEY, new SolverResult(false, new int[] {0, 3}));
+		}
+		try (PersistentResultStore store = new PersistentResultStore(log, MAX_BYTES)) {
+			assertEquals(2, store.size());
+			assertTrue(store.get(SAT_KEY).isSatisfiable());
+			assertFalse(store.get(UNSAT_KEY).isSatisfiable());
+			assertArrayEquals(new int[] {0, 3}, store.get(UNSAT_KEY).getUnsatCore());
+			assertNull(store.get(new SolverResultCache.QueryKey("AND[a, b]", 43)));
+		}
+	}
+
+	@Test
+	public void scanStopsAtTornRecord() throws IOException {
+		Path log = folder.resolve("results.log");
+		try (PersistentResultStore store = new PersistentResultStore(log, MAX_BYTES)) {
+			store.put(SAT_KEY, new SolverResult(true, null));
+			store.put(UNSAT_KEY, new SolverResult(false, new int[] {1}));
+		}
+		// header (12 bytes), then [length][CRC32][payload] per record; damage the last payload byte of the second
+		try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			int first = readInt(channel, 12);
+			int second = 12 + 8 + first;
+			int lastByte = second + 8 + readInt(channel, second) - 1;
+			ByteBuffer value = ByteBuffer.allocate(1);
+			channel.read(value, lastByte);
+			value.put(0, (byte) ~value.get(0)).rewind();
+			channel.write(value, lastByte);
+		}
+		try (PersistentResultStore store = new PersistentResultStore(log, MAX_BYTES)) {
+			assertEquals(1, store.size());
+			assertTrue(store.get(SAT_KEY).isSatisfiable());
+			assertNull(store.get(UNSAT_KEY));
+			// the damaged record is overwritten by the next append
+			store.put(UNSAT_KEY, new SolverResult(false, new int[] {2}));
+		}
+		try (PersistentResultStore store = new PersistentResultStore(log, MAX_BYTES)) {
+			assertEquals(2, store.size());
+			assertArrayEquals(new int[] {2}, store.get(UNSAT_KEY).getUnsatCore());
+		}
+	}
+
+	@Test
+	public void anotherAnalysisVersionStartsOver() throws IOException {
+		Path log = folder.resolve("results.log");
+		int version = PersistentResultStore.ANALYSIS_VERSION;
+		try (PersistentResultStore store = new PersistentResultStore(log, MAX_BYTES, version)) {
+			store.put(SAT_KEY, new SolverResult(true, null));
+		}
+		try (PersistentResultStore store = new PersistentResultStore(log, MAX_BYTES, version + 1)) {
+			assertEquals(0, store.size());
+			assertNull(store.get(SAT_KEY));
+			store.put(UNSAT_KEY, new SolverResult(false, new int[] {0}));
+		}
+		try (PersistentResultStore store = new PersistentResultStore(log, MAX_BYTES, version)) {
+			assertEquals(0, store.size());
+		}
+	}
+
+	@Test
+	public void recordOfAnotherAnalysisVersionIsAMiss() throws IOException {
+		Path log = folder.resolve("results.log");
+		Path other = folder.resolve("other.log");
+		int version = PersistentResultStore.ANALYSIS_VERSION;
+		try (PersistentResultStore store = new PersistentResultStore(other, MAX_BYTES, version + 1)) {
+			store.put(SAT_KEY, new SolverResult(false, new int[] {0}));
+		}
+		try (PersistentResultStore store = new PersistentResultStore(log, MAX_BYTES, version)) {
+			store.put(SAT_KEY, new SolverResult(true, null));
+		}
+		// the same key stored by the other version, behind the header of this one
+		try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+			byte[] records = Files.readAllBytes(other);
+			channel.write(ByteBuffer.wrap(records, 12, records.length - 12), 12);
+		}
+		try (PersistentResultStore store = new PersistentResultStore(log, MAX_BYTES, version)) {
+			assertEquals(0, store.size());
+			assertNull(store.get(SAT_KEY));
+		}
+	}
+
+	@Test
+	public void secondStoreOnTheSameLogIsReadOnly() throws IOException {
+		Path log = folder.resolve("results.log");
+		try (PersistentResultStore writer = new PersistentResultStore(log, MAX_BYTES)) {
+			writer.put(SAT_KEY, new SolverResult(true, null));
+			try (PersistentResultStore reader = new PersistentResultStore(log, MAX_BYTES)) {
+				assertFalse(writer.isReadOnly());
+				assertTrue(reader.isReadOnly());
+				assertTrue(reader.get(SAT_KEY).isSatisfiable());
+				reader.put(UNSAT_KEY, new SolverResult(false, new int[] {0}));
+				assertNull(reader.get(UNSAT_KEY));
+			}
+		}
+		try (PersistentResultStore store = new PersistentResultStore(log, MAX_BYTES)) {
+			assertEquals(1, store.size());
+		}
+	}
+
+	@Test
+	public void overwrittenRecordIsAMiss() throws IOException {
+		Path log = folder.resolve("results.log");
+		Path other = folder.resolve("other.log");
+		try (PersistentResultStore store = new PersistentResultStore(other, MAX_BYTES)) {
+			store.put(UNSAT_KEY, new SolverResult(false, new int[] {0}));
+		}
+		try (PersistentResultStore writer = new PersistentResultStore(log, MAX_BYTES)) {
+			writer.put(SAT_KEY, new SolverResult(true, null));
+			try (PersistentResultStore reader = new PersistentResultStore(log, MAX_BYTES)) {
+				// another process rewrites the log under the reader: a valid record of another key at the same offset
+				try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+					channel.write(ByteBuffer.wrap(Files.readAllBytes(other)), 0);
+				}
+				assertNull(reader.get(SAT_KEY));
+				assertNull(reader.get(UNSAT_KEY));
+			}
+		}
+	}
+
+	private static int readInt(FileChannel channel, long position) throws IOException {
+		ByteBuffer value = ByteBuffer.allocate(4);
+		channel.read(value, position);
+		return value.getInt(0);
+	}
+}